@@ -154,6 +154,13 @@ tasks {
         classpath = sourceSets.test.get().runtimeClasspath
         mainClass.set("org.jboss.tools.intellij.openshift.ui.sandbox.SandboxRegistrationServerMock")
     }
+
+    register("runComponentJoinBenchmark", JavaExec::class.java) {
+        group = "Execution"
+        description = "Run the benchmark of the join of cluster and local components"
+        classpath = sourceSets["benchmark"].runtimeClasspath
+        mainClass.set("org.jboss.tools.intellij.openshift.tree.application.ComponentJoinBenchmark")
+    }
 }
 
 sourceSets {
@@ -162,6 +169,12 @@ sourceSets {
         compileClasspath += sourceSets.main.get().compileClasspath + sourceSets.test.get().compileClasspath
         runtimeClasspath += output + compileClasspath
     }
+    // not part of the unit tests, run with runComponentJoinBenchmark
+    create("benchmark") {
+        description = "benchmark"
+        compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+        runtimeClasspath += output + compileClasspath + sourceSets.main.get().runtimeClasspath
+    }
 }
 
 configurations.all {
@@ -276,5 +289,6 @@ val runIdeForUiTests by intellijPlatformTesting.runIde.registering {
 idea {
     module {
         testSources.from(sourceSets["it"].java.srcDirs)
+        testSources.from(sourceSets["benchmark"].java.srcDirs)
     }
 }
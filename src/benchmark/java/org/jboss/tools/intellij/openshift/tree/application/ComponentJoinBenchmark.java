@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentDescriptor;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeatures;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ApplicationRootNodeOdo#join(List, Map, ApplicationRootNodeOdo.LocalComponentMerger)} with the former
+ * linear lookup of each local component in the cluster components, with 1000 cluster and 1000 local components of
+ * which half have the same name. It is in its own source set so that it is not part of the unit tests, run it with
+ * {@code ./gradlew runComponentJoinBenchmark}. Each operation is warmed up before it is measured in several rounds.
+ */
+public class ComponentJoinBenchmark {
+
+  private static final int COMPONENTS = 1000;
+  private static final int WARMUP_ITERATIONS = 2000;
+  private static final int ITERATIONS = 1000;
+  private static final int ROUNDS = 5;
+
+  private static volatile long sink;
+
+  private static final ApplicationRootNodeOdo.LocalComponentMerger MERGER = (path, descriptor, component) ->
+    Component.of(
+      descriptor.getName(),
+      component == null ? descriptor.getManagedBy() : component.getManagedBy(),
+      component == null ? new ComponentFeatures() : new ComponentFeatures(component.getLiveFeatures()),
+      path,
+      null);
+
+  public static void main(String[] args) throws IOException {
+    List<Component> clusterComponents = new ArrayList<>(COMPONENTS);
+    Map<String, ComponentDescriptor> localComponents = new LinkedHashMap<>();
+    for (int i = 0; i < COMPONENTS; i++) {
+      clusterComponents.add(Component.of("component-" + i, "odo", new ComponentFeatures(), null));
+      // every other local component is on the cluster
+      String name = "component-" + (i * 2);
+      localComponents.put("/projects/" + name, new ComponentDescriptor(name, "/projects/" + name, "odo", null));
+    }
+    report("linear lookup", () -> linear(clusterComponents, localComponents));
+    report("hash join", () -> ApplicationRootNodeOdo.join(clusterComponents, localComponents, MERGER));
+  }
+
+  private static void report(String name, Operation operation) throws IOException {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      consume(operation.run());
+    }
+    long best = Long.MAX_VALUE;
+    long total = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++) {
+        consume(operation.run());
+      }
+      long perOperation = (System.nanoTime() - start) / ITERATIONS;
+      best = Math.min(best, perOperation);
+      total += perOperation;
+    }
+    System.out.printf("%-14s best %6d µs/op, mean %6d µs/op%n", name + ":",
+      TimeUnit.NANOSECONDS.toMicros(best), TimeUnit.NANOSECONDS.toMicros(total / ROUNDS));
+  }
+
+  /**
+   * Uses the result so that the JIT cannot eliminate the operation.
+   */
+  private static void consume(List<Component> components) {
+    if (components.isEmpty()) {
+      throw new IllegalStateException("No components merged.");
+    }
+    sink += components.get(components.size() - 1).getName().length();
+  }
+
+  /**
+   * The former merge, on a copy of the cluster components so that each iteration starts from the same input.
+   */
+  private static List<Component> linear(List<Component> clusterComponents, Map<String, ComponentDescriptor> localComponents) throws IOException {
+    List<Component> components = new ArrayList<>(clusterComponents);
+    for (Map.Entry<String, ComponentDescriptor> entry : localComponents.entrySet()) {
+      ComponentDescriptor descriptor = entry.getValue();
+      Optional<Component> found = components.stream()
+        .filter(component -> component.getName().equals(descriptor.getName()))
+        .findFirst();
+      if (found.isPresent()) {
+        components.set(components.indexOf(found.get()), MERGER.merge(entry.getKey(), descriptor, found.get()));
+      } else {
+        components.add(MERGER.merge(entry.getKey(), descriptor, null));
+      }
+    }
+    return components;
+  }
+
+  @FunctionalInterface
+  private interface Operation {
+    List<Component> run() throws IOException;
+  }
+}
@@ -16,10 +16,14 @@ import java.util.List;
 
 public class HelmCliSearchTest extends HelmCliTest {
 
-    public void testSearch_should_list_all_charts() throws IOException {
-        // given openshift a repo was added to helm
+    public void testSearch_should_list_all_charts_of_repository() throws IOException {
+        // given stable repo was added to helm
+        HelmRepository repository = helm.listRepos().stream()
+          .filter(repo -> Charts.REPOSITORY_STABLE.first.equals(repo.getName()))
+          .findFirst()
+          .orElseThrow();
         // when
-        List<Chart> charts = helm.search();
+        List<Chart> charts = helm.search(repository);
         // then
       assertFalse(charts.isEmpty());
     }
@@ -20,4 +20,10 @@ public final class KubernetesLabels {
 
   public static final String COMPONENT_LABEL = "app.kubernetes.io/component";
 
+  public static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
+
+  public static final String ODO_MODE_LABEL = "odo.dev/mode";
+
+  public static final String ODO_PROJECT_TYPE_ANNOTATION = "odo.dev/project-type";
+
 }
@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.intellij.execution.process.ProcessAdapter;
 import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.process.ProcessHandler;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.text.StringUtil;
@@ -42,12 +43,14 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.Consumer;
 
 public class ApplicationRootNodeOdo implements OdoFacade {
@@ -228,20 +231,51 @@ public class ApplicationRootNodeOdo implements OdoFacade {
 
   @Override
   public List<Component> getComponents(String project) throws IOException {
-    List<Component> components = delegate.getComponentsOnCluster(project);
-    for (Map.Entry<String, ComponentDescriptor> entry : root.getLocalComponents().entrySet()) {
-      String path = entry.getKey();
-      ComponentDescriptor componentDescriptor = entry.getValue();
-      Optional<Component> found = components.stream()
-        .filter(comp1 -> comp1.getName().equals(componentDescriptor.getName()))
-        .findFirst();
-      if (found.isPresent()) {
-        updateComponent(project, path, componentDescriptor, found.get());
+    return join(
+      delegate.getComponentsOnCluster(project),
+      root.getLocalComponents(),
+      (path, descriptor, component) -> component == null ?
+        createComponent(project, descriptor, path)
+        : updateComponent(project, path, descriptor, component));
+  }
+
+  /**
+   * Merges the local components into the components on the cluster with the same name. Local components that are not
+   * on the cluster are appended. The given components are not modified.
+   *
+   * @param clusterComponents the components on the cluster
+   * @param localComponents the local components by path
+   * @param merger merges a local component with the component of the same name on the cluster (if there's one)
+   * @return the merged components
+   */
+  static List<Component> join(List<Component> clusterComponents, Map<String, ComponentDescriptor> localComponents,
+                              LocalComponentMerger merger) throws IOException {
+    Map<String, Component> clusterByName = new HashMap<>(clusterComponents.size() * 2);
+    for (Component component : clusterComponents) {
+      clusterByName.putIfAbsent(component.getName(), component);
+    }
+    Map<Component, Component> merged = new IdentityHashMap<>();
+    List<Component> localOnly = new ArrayList<>();
+    for (Map.Entry<String, ComponentDescriptor> entry : localComponents.entrySet()) {
+      Component found = clusterByName.get(entry.getValue().getName());
+      Component component = merger.merge(entry.getKey(), entry.getValue(), found);
+      if (found != null) {
+        merged.put(found, component);
       } else {
-        components.add(createComponent(project, componentDescriptor, path));
+        localOnly.add(component);
       }
     }
-    return components;
+    List<Component> components = new ArrayList<>(clusterComponents.size() + localOnly.size());
+    for (Component component : clusterComponents) {
+      components.add(merged.getOrDefault(component, component));
+    }
+    components.addAll(localOnly);
+    return Collections.unmodifiableList(components);
+  }
+
+  @FunctionalInterface
+  interface LocalComponentMerger {
+    Component merge(String path, ComponentDescriptor descriptor, Component clusterComponent) throws IOException;
   }
 
   @NotNull
@@ -255,14 +289,17 @@ public class ApplicationRootNodeOdo implements OdoFacade {
       info);
   }
 
-  private void updateComponent(String project, String path, ComponentDescriptor componentDescriptor, Component component) throws IOException {
-    component.setPath(path);
+  @NotNull
+  private Component updateComponent(String project, String path, ComponentDescriptor componentDescriptor, Component component) throws IOException {
     ComponentInfo info = getComponentInfo(project, componentDescriptor.getName(), path, ComponentKind.DEVFILE);
-    component.setInfo(info);
-    Map<ComponentFeature, ProcessHandler> componentMap = getComponentFeature(component.getName());
-    if (!componentMap.isEmpty()) {
-      componentMap.keySet().forEach(componentFeature -> component.getLiveFeatures().addFeature(componentFeature));
-    }
+    ComponentFeatures features = new ComponentFeatures(component.getLiveFeatures());
+    getComponentFeature(component.getName()).keySet().forEach(features::addFeature);
+    return Component.of(
+      component.getName(),
+      component.getManagedBy(),
+      features,
+      path,
+      info);
   }
 
   @Override
@@ -349,6 +386,23 @@ public class ApplicationRootNodeOdo implements OdoFacade {
     return isDownloaded;
   }
 
+  public void dispose() {
+    // disposes the children of the cli, ex. its telemetry subscription, too
+    Disposer.dispose(delegate);
+  }
+
+  public void updateToken(String token) {
+    delegate.updateToken(token);
+  }
+
+  public void updateNamespace(String namespace) {
+    delegate.updateNamespace(namespace);
+  }
+
+  public void invalidateCaches() {
+    delegate.invalidateCaches();
+  }
+
   /**
    * for testing purposes
    **/
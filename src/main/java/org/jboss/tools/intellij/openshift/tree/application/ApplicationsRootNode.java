@@ -11,6 +11,7 @@
 package org.jboss.tools.intellij.openshift.tree.application;
 
 import com.intellij.ProjectTopics;
+import com.intellij.ide.IdeEventQueue;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.module.Module;
@@ -18,49 +19,76 @@ import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.ModuleListener;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.openapi.wm.ex.ToolWindowManagerListener;
+import com.intellij.util.PathUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.redhat.devtools.intellij.common.utils.ConfigHelper;
 import com.redhat.devtools.intellij.common.utils.ConfigWatcher;
 import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import io.fabric8.kubernetes.api.model.Config;
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.jboss.tools.intellij.openshift.WindowToolFactory;
 import org.jboss.tools.intellij.openshift.actions.NotificationUtils;
+import org.jboss.tools.intellij.openshift.utils.ConfigChange;
 import org.jboss.tools.intellij.openshift.utils.ProjectUtils;
 import org.jboss.tools.intellij.openshift.utils.ToolFactory;
 import org.jboss.tools.intellij.openshift.utils.ToolFactory.Tool;
 import org.jboss.tools.intellij.openshift.utils.helm.Helm;
 import org.jboss.tools.intellij.openshift.utils.oc.Oc;
 import org.jboss.tools.intellij.openshift.utils.odo.ComponentDescriptor;
-import org.jboss.tools.intellij.openshift.utils.odo.Odo;
-import org.jboss.tools.intellij.openshift.utils.odo.OdoFacade;
+import org.jboss.tools.intellij.openshift.utils.odo.DevfileIndex;
+import org.jboss.tools.intellij.openshift.utils.odo.DevfileMetadata;
 import org.jboss.tools.intellij.openshift.utils.odo.OdoProcessHelper;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.jboss.tools.intellij.openshift.Constants.PLUGIN_FOLDER;
+
 public class ApplicationsRootNode
   implements ModuleListener, ConfigWatcher.Listener, ProcessingNode, StructureAwareNode, ParentableNode<ApplicationsRootNode>, Disposable, DumbAware {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationsRootNode.class);
+  private static final long CONFIG_UPDATE_DELAY = 500;
+  private static final String ODO2_ENV_FILE = PLUGIN_FOLDER + "/env/env.yaml";
+  private static final String ODO2_VERSION = "v2";
   private final Project project;
   private final ApplicationsTreeStructure structure;
   private final ProcessingNodeImpl processingNode = new ProcessingNodeImpl();
-  private final Map<String, ComponentDescriptor> components = new HashMap<>();
+  private final Map<String, ComponentDescriptor> components = new ConcurrentHashMap<>();
   private CompletableFuture<ApplicationRootNodeOdo> odoFuture;
   private CompletableFuture<Tool<Helm>> helmFuture;
   private CompletableFuture<Tool<Oc>> ocFuture;
   private boolean logged;
   private Config config;
   private final OdoProcessHelper processHelper;
+  private final RefreshScheduler refreshScheduler;
+  private ScheduledFuture<?> pendingConfigUpdate;
+  private volatile boolean toolWindowVisible = true;
 
   public ApplicationsRootNode(Project project, ApplicationsTreeStructure structure, Disposable parent) {
     this.project = project;
@@ -69,16 +97,16 @@ public class ApplicationsRootNode
     this.config = loadConfig();
     registerProjectListener(project);
     this.processHelper = new OdoProcessHelper();
+    this.refreshScheduler = new RefreshScheduler(
+      AppExecutorUtil.getAppScheduledExecutorService(),
+      AppExecutorUtil.getAppExecutorService(),
+      () -> structure.poll(),
+      () -> structure.isInTransition(),
+      () -> toolWindowVisible,
+      () -> IdeEventQueue.getInstance().getIdleTime());
     Disposer.register(parent, this);
   }
 
-  private static boolean shouldLogMessage(String message) {
-    return !(message.contains("Unauthorized") ||
-      message.contains("unable to access the cluster: servicebindings.binding.operators.coreos.com") ||
-      message.contains("the server has asked for the client to provide credentials") ||
-      message.contains("connect: no route to host"));
-  }
-
   public boolean isLogged() {
     return logged;
   }
@@ -93,26 +121,55 @@ public class ApplicationsRootNode
         ReadAction.compute(() -> ToolFactory.getInstance()
           .createOdo(project)
           .thenApply(tool -> {
+            tool.get().addComponentsListener(this::onComponentsChanged);
             ApplicationRootNodeOdo odo = new ApplicationRootNodeOdo(tool.get(), tool.isDownloaded(), this, processHelper);
-            loadProjectModel(odo, project);
+            loadProjectModel(project);
             return odo;
           }));
+      odoFuture.whenComplete((ApplicationRootNodeOdo odo, Throwable err) -> {
+        if (odo != null) {
+          if (odo.isDownloaded()) {
+            structure.fireModified(this);
+          }
+          structure.revalidate();
+          refreshScheduler.start();
+        }
+      });
     }
     return odoFuture;
   }
 
   public CompletableFuture<ApplicationRootNodeOdo> getOdo() {
-    return doGetOdo()
-      .whenComplete((ApplicationRootNodeOdo odo, Throwable err) -> {
-        if (odo != null
-          && odo.isDownloaded()) {
-          structure.fireModified(this);
-        }
-      });
+    return doGetOdo();
   }
 
   public void resetOdo() {
+    CompletableFuture<ApplicationRootNodeOdo> previous = this.odoFuture;
     this.odoFuture = null;
+    if (previous != null) {
+      previous.thenAccept(ApplicationRootNodeOdo::dispose);
+    }
+  }
+
+  /**
+   * Updates the visibility of the tool window that the refresh scheduler reads from its own thread. Called on the EDT
+   * whenever the tool windows change.
+   */
+  private void onToolWindowsChanged(ToolWindowManager manager) {
+    ToolWindow toolWindow = manager.getToolWindow(WindowToolFactory.TOOLWINDOW_ID);
+    this.toolWindowVisible = toolWindow != null
+      && toolWindow.isVisible();
+  }
+
+  /**
+   * Polls the cluster more often while a component is being started or stopped.
+   */
+  void onProcessingStarted() {
+    refreshScheduler.onTransition();
+  }
+
+  private void onComponentsChanged(String namespace) {
+    structure.refresh(new NamespaceNode(this, namespace));
   }
 
   public CompletableFuture<ToolFactory.Tool<Oc>> getOcTool() {
@@ -147,6 +204,19 @@ public class ApplicationsRootNode
     return project;
   }
 
+  /**
+   * Returns the name of the current context in the kube config.
+   *
+   * @return the current context or {@code null} if there is none
+   */
+  public String getCurrentContext() {
+    Config current = this.config;
+    if (current == null) {
+      return null;
+    }
+    return current.getCurrentContext();
+  }
+
   protected void initConfigWatcher() {
     ExecHelper.submit(new ConfigWatcher(Paths.get(ConfigHelper.getKubeConfigPath()), this));
   }
@@ -159,18 +229,17 @@ public class ApplicationsRootNode
     return components;
   }
 
-  protected void loadProjectModel(OdoFacade odo, Project project) {
-    if (odo == null) {
-      return;
-    }
+  protected void loadProjectModel(Project project) {
+    List<VirtualFile> directories = new ArrayList<>();
     for (Module module : ModuleManager.getInstance(project).getModules()) {
-      addContext(odo, ProjectUtils.getModuleRoot(module));
+      directories.add(ProjectUtils.getModuleRoot(module));
     }
+    addContexts(directories);
   }
 
   @Override
   public void moduleAdded(@NotNull Project project, @NotNull Module module) {
-    addContext(getOdo().getNow(null), ProjectUtils.getModuleRoot(module));
+    addContexts(Collections.singletonList(ProjectUtils.getModuleRoot(module)));
   }
 
   @Override
@@ -178,12 +247,47 @@ public class ApplicationsRootNode
     removeContext(ProjectUtils.getModuleRoot(module));
   }
 
-  private void addContextToSettings(String path, ComponentDescriptor descriptor) {
-    if (!components.containsKey(path)) {
-      if (descriptor.isPreOdo3()) {
-        migrateOdo(descriptor);
+  /**
+   * Adds the components of the devfiles in the given directories. The devfiles are read in a non-blocking read
+   * action, the tree is refreshed once if a component was added.
+   */
+  private void addContexts(List<VirtualFile> directories) {
+    ReadAction.nonBlocking(() -> getDescriptors(directories))
+      .expireWith(this)
+      .submit(AppExecutorUtil.getAppExecutorService())
+      .onSuccess(this::addDescriptors);
+  }
+
+  private List<ComponentDescriptor> getDescriptors(List<VirtualFile> directories) {
+    List<ComponentDescriptor> descriptors = new ArrayList<>();
+    for (VirtualFile directory : directories) {
+      if (directory != null
+        && directory.isValid()) {
+        ComponentDescriptor descriptor = getDescriptor(directory);
+        if (descriptor != null) {
+          descriptors.add(descriptor);
+        }
+      }
+    }
+    return descriptors;
+  }
+
+  private void addDescriptors(List<ComponentDescriptor> descriptors) {
+    boolean added = false;
+    for (ComponentDescriptor descriptor : descriptors) {
+      if (components.putIfAbsent(descriptor.getPath(), descriptor) == null) {
+        onContextAdded(descriptor);
+        added = true;
       }
-      components.put(path, descriptor);
+    }
+    if (added) {
+      structure.refresh(this);
+    }
+  }
+
+  private void onContextAdded(ComponentDescriptor descriptor) {
+    if (descriptor.isPreOdo3()) {
+      migrateOdo(descriptor);
     }
   }
 
@@ -199,29 +303,101 @@ public class ApplicationsRootNode
           "The component " + descriptor.getName() + " has been migrated to odo 3.x"));
   }
 
-  private void addContext(Odo odo, VirtualFile modulePathFile) {
-    if (odo == null) {
+  /**
+   * Returns the component of the devfile in the given directory. Has to be called within a read action.
+   * Components that odo 2 created (with an {@code .odo/env/env.yaml} next to the devfile) are marked as managed by
+   * odo 2, so that they're migrated.
+   */
+  private ComponentDescriptor getDescriptor(VirtualFile directory) {
+    DevfileMetadata metadata = DevfileIndex.getMetadata(project, directory);
+    if (metadata == null) {
+      return null;
+    }
+    String name = metadata.getName() != null ? metadata.getName() : directory.getName();
+    String managedByVersion = directory.findFileByRelativePath(ODO2_ENV_FILE) != null ? ODO2_VERSION : null;
+    return new ComponentDescriptor(name, getContextPath(directory.getPath()), "odo", managedByVersion);
+  }
+
+  private static String getContextPath(String path) {
+    return Paths.get(path).toString();
+  }
+
+  private void onFilesChanged(List<? extends VFileEvent> events) {
+    Set<String> directories = getDevfileDirectories(events);
+    if (directories.isEmpty()) {
       return;
     }
-    if (modulePathFile != null && modulePathFile.isValid()) {
-      try {
-        List<ComponentDescriptor> descriptors = odo.discover(modulePathFile.toNioPath().toString());
-        descriptors.forEach(descriptor ->
-          addContextToSettings(descriptor.getPath(), descriptor)
-        );
-      } catch (IOException ex) {
-        //filter out some common exception when no logged or no authorizations
-        if (shouldLogMessage(ex.getMessage())) {
-          LOGGER.warn(ex.getLocalizedMessage(), ex);
-        }
+    ReadAction.nonBlocking(() -> getContexts(directories))
+      .expireWith(this)
+      .submit(AppExecutorUtil.getAppExecutorService())
+      .onSuccess(this::updateContexts);
+  }
+
+  /**
+   * Returns the directories of the devfiles that were created, changed, deleted or renamed by the given events.
+   */
+  static Set<String> getDevfileDirectories(List<? extends VFileEvent> events) {
+    Set<String> directories = new HashSet<>();
+    for (VFileEvent event : events) {
+      if (event instanceof VFilePropertyChangeEvent propertyChange
+        && propertyChange.isRename()
+        && (DevfileIndex.isDevfile(String.valueOf(propertyChange.getOldValue()))
+          || DevfileIndex.isDevfile(String.valueOf(propertyChange.getNewValue())))) {
+        directories.add(PathUtil.getParentPath(event.getPath()));
+      } else if (DevfileIndex.isDevfile(PathUtil.getFileName(event.getPath()))) {
+        directories.add(PathUtil.getParentPath(event.getPath()));
+      }
+    }
+    return directories;
+  }
+
+  /**
+   * Returns the components in the given directories if they are module roots or known contexts.
+   * Directories without a (valid) devfile are mapped to {@code null}.
+   */
+  private Map<String, ComponentDescriptor> getContexts(Set<String> directories) {
+    Map<String, ComponentDescriptor> contexts = new HashMap<>();
+    ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+    for (String directory : directories) {
+      String path = getContextPath(directory);
+      VirtualFile file = LocalFileSystem.getInstance().findFileByPath(directory);
+      if (file != null
+        && file.equals(fileIndex.getContentRootForFile(file))) {
+        contexts.put(path, getDescriptor(file));
+      } else if (components.containsKey(path)) {
+        contexts.put(path, file == null ? null : getDescriptor(file));
+      }
+    }
+    return contexts;
+  }
+
+  private void updateContexts(Map<String, ComponentDescriptor> contexts) {
+    boolean changed = false;
+    for (Map.Entry<String, ComponentDescriptor> entry : contexts.entrySet()) {
+      ComponentDescriptor descriptor = entry.getValue();
+      ComponentDescriptor previous = descriptor == null ?
+        components.remove(entry.getKey())
+        : components.put(entry.getKey(), descriptor);
+      if (descriptor != null
+        && previous == null) {
+        onContextAdded(descriptor);
       }
+      changed |= descriptor == null ?
+        previous != null
+        : previous == null || !previous.getName().equals(descriptor.getName());
+    }
+    if (changed) {
+      structure.refresh(this);
     }
   }
 
   public void addContext(String modulePath) {
-    addContext(
-      getOdo().getNow(null),
-      LocalFileSystem.getInstance().refreshAndFindFileByPath(modulePath));
+    VirtualFile directory = LocalFileSystem.getInstance().refreshAndFindFileByPath(modulePath);
+    if (directory != null) {
+      // the devfile was just created
+      VfsUtil.markDirtyAndRefresh(false, false, true, directory);
+    }
+    addContexts(Collections.singletonList(directory));
   }
 
   private void removeContextFromSettings(String modulePath) {
@@ -238,26 +414,123 @@ public class ApplicationsRootNode
   }
 
   private void removeContext(VirtualFile modulePathFile) {
-    removeContextFromSettings(modulePathFile.getPath());
+    removeContextFromSettings(getContextPath(modulePathFile.getPath()));
   }
 
   protected void registerProjectListener(Project project) {
     MessageBusConnection connection = project.getMessageBus().connect(this);
     connection.subscribe(ProjectTopics.MODULES, this);
+    connection.subscribe(ToolWindowManagerListener.TOPIC, new ToolWindowManagerListener() {
+      @Override
+      public void stateChanged(@NotNull ToolWindowManager toolWindowManager) {
+        onToolWindowsChanged(toolWindowManager);
+      }
+    });
+    connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+      @Override
+      public void after(@NotNull List<? extends VFileEvent> events) {
+        onFilesChanged(events);
+      }
+    });
   }
 
   @Override
-  public void onUpdate(ConfigWatcher source, Config config) {
-    if (!ConfigHelper.areEqual(config, this.config)) {
-      this.config = config;
-      refresh();
+  public synchronized void onUpdate(ConfigWatcher source, Config config) {
+    // the kube config is often rewritten several times in a row, only react to the last version
+    if (pendingConfigUpdate != null) {
+      pendingConfigUpdate.cancel(false);
+    }
+    this.pendingConfigUpdate = AppExecutorUtil.getAppScheduledExecutorService().schedule(
+      () -> applyConfig(config), CONFIG_UPDATE_DELAY, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Reacts to the given kube config according to what changed for the current context. Changes to other contexts
+   * are ignored, token rotations and namespace switches are applied to the existing clients and anything else
+   * refreshes the tree with new clients.
+   *
+   * @param config the kube config that was written
+   */
+  synchronized void applyConfig(Config config) {
+    ConfigChange change = ConfigChange.classify(this.config, config);
+    if (change == ConfigChange.NONE) {
+      return;
+    }
+    this.config = config;
+    LOGGER.debug("Kube config changed: " + change);
+    switch (change) {
+      case CONTEXT:
+        reset();
+        break;
+      case NAMESPACE:
+      case TOKEN:
+        CompletableFuture<ApplicationRootNodeOdo> future = this.odoFuture;
+        if (future == null) {
+          // odo is created with the new config
+          return;
+        }
+        ApplicationRootNodeOdo odo = future.isCompletedExceptionally() ? null : future.getNow(null);
+        if (odo == null) {
+          reset();
+        } else if (change == ConfigChange.NAMESPACE) {
+          odo.updateNamespace(ConfigChange.getNamespace(config));
+          structure.refresh(this);
+        } else {
+          String token = ConfigChange.getToken(config);
+          odo.updateToken(token);
+          updateOcToken(token);
+          refreshScheduler.start();
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Applies the given token to the oc client, if it was created. Helm needs no update, it reads the kube config
+   * whenever it is run.
+   *
+   * @param token the new token of the current context
+   */
+  private void updateOcToken(String token) {
+    CompletableFuture<Tool<Oc>> future = this.ocFuture;
+    if (future == null) {
+      // oc is created with the new config
+      return;
     }
+    future.thenAccept(tool -> {
+      if (tool != null) {
+        tool.get().updateToken(token);
+      }
+    });
   }
 
+  /**
+   * Refreshes the tree with the existing odo and clients, dropping the cached odo results only.
+   * Falls back to a {@link #reset()} if odo could not be created.
+   */
   public synchronized void refresh() {
+    CompletableFuture<ApplicationRootNodeOdo> future = this.odoFuture;
+    if (future == null
+      || future.isCompletedExceptionally()) {
+      reset();
+      return;
+    }
+    future.thenAccept(odo -> {
+      odo.invalidateCaches();
+      structure.refresh(ApplicationsRootNode.this);
+      refreshScheduler.start();
+    });
+  }
+
+  /**
+   * Refreshes the tree with a new odo and new clients. Only required if the current context switched.
+   */
+  public synchronized void reset() {
     resetOdo();
     doGetOdo().whenComplete((odo, err) ->
-      structure.fireModified(ApplicationsRootNode.this)
+      structure.refresh(ApplicationsRootNode.this)
     );
   }
 
@@ -303,6 +576,14 @@ public class ApplicationsRootNode
 
   @Override
   public void dispose() {
+    refreshScheduler.stop();
     resetOdo();
+    if (ocFuture != null) {
+      ocFuture.thenAccept(tool -> {
+        if (tool != null) {
+          Disposer.dispose(tool.get());
+        }
+      });
+    }
   }
 }
@@ -14,9 +14,11 @@ import com.intellij.ide.projectView.PresentationData;
 import com.intellij.ide.util.treeView.AbstractTreeStructure;
 import com.intellij.ide.util.treeView.NodeDescriptor;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.ui.tree.LeafState;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.redhat.devtools.intellij.common.tree.LabelAndIconDescriptor;
 import com.redhat.devtools.intellij.common.tree.MutableModel;
 import com.redhat.devtools.intellij.common.tree.MutableModelSupport;
@@ -35,23 +37,35 @@ import org.slf4j.LoggerFactory;
 import javax.swing.Icon;
 import java.io.IOException;
 import java.net.NoRouteToHostException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class ApplicationsTreeStructure extends AbstractTreeStructure implements MutableModel<Object>, Disposable {
   private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationsTreeStructure.class);
   private static final String LOGIN = "Please log in to the cluster";
   private static final String CLUSTER_UNREACHABLE = "Error: Cluster not reachable";
+  private static final ExecutorService CHILDREN_EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor("OpenShift Tree Children", 6);
+  private static final ExecutorService PERSIST_EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor("OpenShift Tree Persistence", 1);
   private final Project project;
   private final ApplicationsRootNode root;
   private final MutableModel<Object> mutableModelSupport = new MutableModelSupport<>();
   private final DevfileRegistriesNode registries;
+  private final ComponentDetailsLoader componentDetails = new ComponentDetailsLoader();
+  private final TreeSnapshot snapshot = new TreeSnapshot();
+  private final TreeSnapshotStore store = new TreeSnapshotStore(Paths.get(PathManager.getSystemPath(), "openshift", "trees"));
+  private final AtomicBoolean restored = new AtomicBoolean();
+  private final AtomicBoolean persistPending = new AtomicBoolean();
+  private volatile boolean stale;
 
   public ApplicationsTreeStructure(Project project, Disposable parentDisposable) {
     this.project = project;
@@ -72,6 +86,190 @@ public class ApplicationsTreeStructure extends AbstractTreeStructure implements
   @NotNull
   @Override
   public Object @NotNull [] getChildElements(@NotNull Object element) {
+    Object[] pending = snapshot.takePending(element);
+    if (pending != null) {
+      return pending;
+    }
+    Object[] children = snapshot.record(element, loadChildElements(element));
+    if (isClusterNode(element)) {
+      persist();
+    }
+    return children;
+  }
+
+  /**
+   * Loads the children of the given element again and fires the changes only.
+   * Children that were added or removed are fired as a modification of the given element, children that show
+   * different data are fired as modified themselves. The children of unchanged cluster nodes that were loaded before
+   * are refreshed the same way.
+   *
+   * @param element the element to refresh the children of
+   */
+  public void refresh(Object element) {
+    if (!snapshot.contains(element)) {
+      fireModified(element);
+      return;
+    }
+    CompletableFuture.runAsync(() -> {
+      if (doRefresh(element, true)) {
+        persist();
+      }
+    }, AppExecutorUtil.getAppExecutorService());
+  }
+
+  /**
+   * Loads the children of the given element again and fires the changes only.
+   *
+   * @param element the element to refresh the children of
+   * @param deep {@code true} if the loaded children of unchanged cluster nodes should be refreshed, too
+   * @return {@code true} if the children of the given element or of the refreshed children changed
+   */
+  private boolean doRefresh(Object element, boolean deep) {
+    TreeSnapshot.Diff diff = snapshot.update(element, loadChildElements(element));
+    if (diff.isStructureChanged()) {
+      fireModified(element);
+    }
+    diff.getModified().forEach(this::fireModified);
+    boolean changed = !diff.isEmpty();
+    if (deep) {
+      for (Object child : snapshot.getChildren(element)) {
+        if (isClusterNode(child)
+          && !diff.getModified().contains(child)
+          && snapshot.contains(child)) {
+          changed |= doRefresh(child, true);
+        }
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Revalidates the tree that was restored from disk, if any. Changes are patched into the tree.
+   */
+  public void revalidate() {
+    if (!stale) {
+      return;
+    }
+    this.stale = false;
+    // restored children that the tree did not request yet must be loaded
+    snapshot.clearPending();
+    refresh(root);
+  }
+
+  /**
+   * Refreshes the namespaces that were loaded, firing the nodes that changed only. The children of components are
+   * not polled, they are loaded again by the tree once a modified component is fired.
+   *
+   * @return {@code false} if the cluster cannot be reached or the user is not logged in
+   */
+  boolean poll() {
+    Odo odo = root.getOdo().getNow(null);
+    if (odo == null
+      || stale) {
+      // not resolved nor revalidated yet
+      return true;
+    }
+    try {
+      if (!odo.isAuthorized()) {
+        return false;
+      }
+    } catch (KubernetesClientException e) {
+      return false;
+    }
+    boolean changed = false;
+    for (Object child : snapshot.getChildren(root)) {
+      if (child instanceof NamespaceNode
+        && snapshot.contains(child)) {
+        changed |= doRefresh(child, false);
+      }
+    }
+    if (changed) {
+      persist();
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if a component in the loaded namespaces is being started or stopped.
+   *
+   * @return true if a component is processing
+   */
+  boolean isInTransition() {
+    for (Object namespace : snapshot.getChildren(root)) {
+      for (Object child : snapshot.getChildren(namespace)) {
+        if (child instanceof ComponentNode component
+          && component.isProcessing()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private Object restore(ApplicationsRootNode root) {
+    if (!restored.compareAndSet(false, true)) {
+      return null;
+    }
+    String key = getPersistenceKey(root);
+    if (key == null) {
+      return null;
+    }
+    TreeSnapshotStore.PersistedTree tree = store.load(root, key);
+    if (tree == null) {
+      return null;
+    }
+    tree.getChildren().forEach(snapshot::prime);
+    this.stale = true;
+    if (root.getOdo().isDone()) {
+      // odo was resolved in the meantime
+      AppExecutorUtil.getAppExecutorService().execute(this::revalidate);
+    }
+    return tree.getNamespace();
+  }
+
+  /**
+   * Saves the tree of the current namespace. Requests that arrive while a save is pending are coalesced into it, the
+   * tree is read when the save runs.
+   */
+  private void persist() {
+    if (persistPending.compareAndSet(false, true)) {
+      PERSIST_EXECUTOR.execute(() -> {
+        // reset first, changes while saving request another save
+        persistPending.set(false);
+        save();
+      });
+    }
+  }
+
+  private void save() {
+    String key = getPersistenceKey(root);
+    NamespaceNode namespace = snapshot.getChildren(root).stream()
+      .filter(NamespaceNode.class::isInstance)
+      .map(NamespaceNode.class::cast)
+      .findFirst()
+      .orElse(null);
+    if (key == null
+      || namespace == null
+      || namespace.isStale()) {
+      return;
+    }
+    store.save(key, namespace, snapshot::getChildren);
+  }
+
+  private String getPersistenceKey(ApplicationsRootNode root) {
+    String context = root.getCurrentContext();
+    if (context == null) {
+      return null;
+    }
+    return project.getLocationHash() + '-' + context;
+  }
+
+  private static boolean isClusterNode(Object element) {
+    return element instanceof NamespaceNode
+      || element instanceof ComponentNode;
+  }
+
+  private Object @NotNull [] loadChildElements(@NotNull Object element) {
     try {
       if (element == this) {
         return new Object[]{root, registries};
@@ -116,12 +314,7 @@ public class ApplicationsTreeStructure extends AbstractTreeStructure implements
     if (odo == null) {
       return new Object[]{new MessageNode<>(root, componentNode, "Could not get components")};
     }
-    List<URLNode> urls = getURLs(componentNode);
-    List<BindingNode> bindings = getBindings(componentNode, odo);
-    return Stream.of(urls, bindings)
-      .filter(item -> !item.isEmpty())
-      .flatMap(Collection::stream)
-      .toArray();
+    return componentDetails.load(componentNode, odo).toArray();
   }
 
   @NotNull
@@ -135,10 +328,14 @@ public class ApplicationsTreeStructure extends AbstractTreeStructure implements
       return new MessageNode[]{new ChangeActiveProjectLinkNode(root, namespaceNode)};
     }
 
+    // components, services and releases are each listed by a separate process, load them at once
+    CompletableFuture<List<BaseNode<?>>> components = loadAsync(() -> getComponents(namespaceNode, odo));
+    CompletableFuture<List<BaseNode<?>>> services = loadAsync(() -> getServices(namespaceNode, odo));
+    CompletableFuture<List<BaseNode<?>>> releases = loadAsync(() -> getHelmReleases(namespaceNode));
     List<Object> nodes = new ArrayList<>();
-    nodes.addAll(getComponents(namespaceNode, odo));
-    nodes.addAll(getServices(namespaceNode, odo));
-    nodes.addAll(getHelmReleases(namespaceNode));
+    nodes.addAll(join(components, namespaceNode, "Could not get components"));
+    nodes.addAll(join(services, namespaceNode, "Could not get application services"));
+    nodes.addAll(join(releases, namespaceNode, "Could not get chart releases"));
     return nodes.toArray();
   }
 
@@ -148,6 +345,11 @@ public class ApplicationsTreeStructure extends AbstractTreeStructure implements
     try {
       Odo odo = root.getOdo().getNow(null);
       if (odo == null) {
+        // show the last known namespace until the cluster is reached
+        Object restoredNamespace = restore(element);
+        if (restoredNamespace != null) {
+          return restoredNamespace;
+        }
         return new Object[]{new MessageNode<>(element, element, "Could not get current namespace")};
       }
       boolean isAuthorized = odo.isAuthorized();
@@ -249,34 +451,17 @@ public class ApplicationsTreeStructure extends AbstractTreeStructure implements
     }
   }
 
-  private List<URLNode> getURLs(ComponentNode element) {
-    List<URLNode> results = new ArrayList<>();
-    Odo odo = element.getRoot().getOdo().getNow(null);
-    if (odo == null) {
-      return Collections.emptyList();
-    }
-    try {
-      odo.listURLs(element.getComponent().getPath())
-        .forEach(url ->
-          results.add(new URLNode(element, url))
-        );
-    } catch (IOException e) {
-      LOGGER.warn(e.getLocalizedMessage(), e);
-    }
-    return results;
+  private static CompletableFuture<List<BaseNode<?>>> loadAsync(Supplier<List<BaseNode<?>>> supplier) {
+    return CompletableFuture.supplyAsync(supplier, CHILDREN_EXECUTOR);
   }
 
-  private List<BindingNode> getBindings(ComponentNode element, @NotNull Odo odo) {
-    List<BindingNode> results = new ArrayList<>();
+  private List<BaseNode<?>> join(CompletableFuture<List<BaseNode<?>>> future, NamespaceNode namespace, String errorMessage) {
     try {
-      odo.listBindings(element.getComponent().getPath())
-        .forEach(binding ->
-          results.add(new BindingNode(element, binding))
-        );
-    } catch (IOException e) {
+      return future.join();
+    } catch (CompletionException | CancellationException e) {
       LOGGER.warn(e.getLocalizedMessage(), e);
+      return Collections.singletonList(new MessageNode<>(namespace.getRoot(), namespace, errorMessage));
     }
-    return results;
   }
 
   private Object[] getRegistries(ApplicationsRootNode root) {
@@ -10,11 +10,14 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.tree.application;
 
+import java.util.Objects;
+
 public abstract class BaseNode<T> implements ProcessingNode, StructureAwareNode, ParentableNode<T> {
     private final T parent;
     private final ApplicationsRootNode root;
     private final String name;
     private final ProcessingNodeImpl processingNode = new ProcessingNodeImpl();
+    private volatile boolean stale;
 
     protected BaseNode(ApplicationsRootNode root, T parent, String name) {
         this.root = root;
@@ -87,4 +90,53 @@ public abstract class BaseNode<T> implements ProcessingNode, StructureAwareNode,
         return processingNode.getMessage();
     }
 
+    /**
+     * Returns {@code true} if this node was restored from a persisted tree and was not revalidated yet.
+     *
+     * @return true if this node is stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
+    /**
+     * Returns {@code true} if the given node, which has the same identity as this node, shows different data.
+     *
+     * @param node the node with the same identity
+     * @return true if the given node shows different data
+     */
+    boolean isModified(BaseNode<?> node) {
+        return stale != node.stale;
+    }
+
+    /**
+     * Takes the data of the given node, which has the same identity as this node.
+     *
+     * @param node the node with the same identity
+     */
+    void update(BaseNode<?> node) {
+        this.stale = node.stale;
+    }
+
+    /**
+     * Nodes are identified by their class, parent and name so that a node that is loaded again is equal to the node
+     * that it replaces in the tree.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BaseNode<?> that = (BaseNode<?>) o;
+        return Objects.equals(name, that.name)
+          && Objects.equals(parent, that.parent);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass(), name);
+    }
 }
@@ -12,9 +12,11 @@ package org.jboss.tools.intellij.openshift.tree.application;
 
 import org.jboss.tools.intellij.openshift.utils.helm.ChartRelease;
 
+import java.util.Objects;
+
 public class ChartReleaseNode extends BaseNode<NamespaceNode> {
 
-  private final ChartRelease release;
+  private volatile ChartRelease release;
 
   public ChartReleaseNode(NamespaceNode parent, ChartRelease release) {
     super(parent.getRoot(), parent, release.getName());
@@ -24,4 +26,22 @@ public class ChartReleaseNode extends BaseNode<NamespaceNode> {
   public ChartRelease getRelease() {
     return release;
   }
+
+  @Override
+  boolean isModified(BaseNode<?> node) {
+    return super.isModified(node)
+      || node instanceof ChartReleaseNode other
+      && (!Objects.equals(release.getRevision(), other.release.getRevision())
+      || !Objects.equals(release.getStatus(), other.release.getStatus())
+      || !Objects.equals(release.getChart(), other.release.getChart())
+      || !Objects.equals(release.getApp_version(), other.release.getApp_version()));
+  }
+
+  @Override
+  void update(BaseNode<?> node) {
+    super.update(node);
+    if (node instanceof ChartReleaseNode other) {
+      this.release = other.release;
+    }
+  }
 }
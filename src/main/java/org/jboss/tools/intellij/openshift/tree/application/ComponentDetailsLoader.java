@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads the urls and bindings of components. They are described by separate odo processes, which are run concurrently
+ * when a component is expanded. The processes of all the components that are expanded run on a shared executor, at
+ * most {@link #MAX_CONCURRENT_LOADS} at a time.
+ */
+class ComponentDetailsLoader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComponentDetailsLoader.class);
+
+  static final int MAX_CONCURRENT_LOADS = 4;
+
+  private final Executor executor;
+
+  ComponentDetailsLoader() {
+    this(AppExecutorUtil.createBoundedApplicationPoolExecutor("OpenShift Component Details", MAX_CONCURRENT_LOADS));
+  }
+
+  ComponentDetailsLoader(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Returns the url and binding nodes of the given component.
+   *
+   * @param component the component to return the children for
+   * @param odo the odo to describe the component with
+   * @return the url and binding nodes of the given component
+   */
+  List<BaseNode<ComponentNode>> load(ComponentNode component, Odo odo) {
+    // both run on the executor so that the concurrent expansions of several components are capped, too
+    CompletableFuture<List<BaseNode<ComponentNode>>> urls = CompletableFuture.supplyAsync(
+      () -> getURLs(component, odo), executor);
+    CompletableFuture<List<BaseNode<ComponentNode>>> bindings = CompletableFuture.supplyAsync(
+      () -> getBindings(component, odo), executor);
+    List<BaseNode<ComponentNode>> children = new ArrayList<>(join(urls));
+    children.addAll(join(bindings));
+    return children;
+  }
+
+  private static List<BaseNode<ComponentNode>> join(CompletableFuture<List<BaseNode<ComponentNode>>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      LOGGER.warn(e.getLocalizedMessage(), e);
+      return Collections.emptyList();
+    }
+  }
+
+  private List<BaseNode<ComponentNode>> getURLs(ComponentNode component, Odo odo) {
+    List<BaseNode<ComponentNode>> results = new ArrayList<>();
+    try {
+      odo.listURLs(component.getComponent().getPath())
+        .forEach(url -> results.add(new URLNode(component, url)));
+    } catch (IOException e) {
+      LOGGER.warn(e.getLocalizedMessage(), e);
+      return Collections.emptyList();
+    }
+    return results;
+  }
+
+  private List<BaseNode<ComponentNode>> getBindings(ComponentNode component, Odo odo) {
+    List<BaseNode<ComponentNode>> results = new ArrayList<>();
+    try {
+      odo.listBindings(component.getComponent().getPath())
+        .forEach(binding -> results.add(new BindingNode(component, binding)));
+    } catch (IOException e) {
+      LOGGER.warn(e.getLocalizedMessage(), e);
+      return Collections.emptyList();
+    }
+    return results;
+  }
+}
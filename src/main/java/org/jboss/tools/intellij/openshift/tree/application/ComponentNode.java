@@ -12,8 +12,10 @@ package org.jboss.tools.intellij.openshift.tree.application;
 
 import org.jboss.tools.intellij.openshift.utils.odo.Component;
 
+import java.util.Objects;
+
 public class ComponentNode extends BaseNode<NamespaceNode> {
-  private final Component component;
+  private volatile Component component;
 
   public ComponentNode(NamespaceNode parent, Component component) {
     super(parent.getRoot(), parent, component.getName());
@@ -23,4 +25,27 @@ public class ComponentNode extends BaseNode<NamespaceNode> {
   public Component getComponent() {
     return component;
   }
+
+  @Override
+  public void startProcessing(String message) {
+    super.startProcessing(message);
+    if (getRoot() != null) {
+      getRoot().onProcessingStarted();
+    }
+  }
+
+  @Override
+  boolean isModified(BaseNode<?> node) {
+    return super.isModified(node)
+      || node instanceof ComponentNode other
+      && !Objects.equals(component, other.component);
+  }
+
+  @Override
+  void update(BaseNode<?> node) {
+    super.update(node);
+    if (node instanceof ComponentNode other) {
+      this.component = other.component;
+    }
+  }
 }
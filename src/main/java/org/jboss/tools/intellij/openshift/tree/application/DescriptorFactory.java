@@ -78,7 +78,7 @@ public class DescriptorFactory {
         project,
         namespaceNode,
         namespaceNode::getName,
-        null,
+        () -> namespaceNode.isStale() ? "cached" : null,
         NAMESPACE_ICON,
         parentDescriptor);
     } else if (element instanceof ComponentNode) {
@@ -10,8 +10,24 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.tree.application;
 
+import java.util.Objects;
+
 public class NamespaceNode extends BaseNode<ApplicationsRootNode> {
     public NamespaceNode(ApplicationsRootNode parent, String name) {
         super(parent, parent, name);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NamespaceNode that = (NamespaceNode) o;
+        return getRoot() == that.getRoot()
+          && Objects.equals(getName(), that.getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName());
+    }
 }
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Polls the cluster in the background on an adaptive interval. Polls are frequent while a component is being
+ * started or stopped, back off while the tool window is hidden or the IDE is idle and stop entirely when the cluster
+ * cannot be reached, until the scheduler is started again.
+ */
+class RefreshScheduler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RefreshScheduler.class);
+
+  static final long TRANSITION_INTERVAL = TimeUnit.SECONDS.toMillis(3);
+  static final long DEFAULT_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+  static final long MAX_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+  static final long IDLE_THRESHOLD = TimeUnit.MINUTES.toMillis(5);
+
+  /**
+   * Polls the cluster.
+   */
+  interface Poller {
+
+    /**
+     * Polls the cluster and updates the tree with the changes.
+     *
+     * @return {@code false} if the cluster cannot be reached
+     */
+    boolean poll();
+  }
+
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+  private final Poller poller;
+  private final BooleanSupplier inTransition;
+  private final BooleanSupplier visible;
+  private final LongSupplier idleTime;
+  private long interval = DEFAULT_INTERVAL;
+  private ScheduledFuture<?> next;
+
+  RefreshScheduler(ScheduledExecutorService scheduler, Executor executor, Poller poller,
+                   BooleanSupplier inTransition, BooleanSupplier visible, LongSupplier idleTime) {
+    this.scheduler = scheduler;
+    this.executor = executor;
+    this.poller = poller;
+    this.inTransition = inTransition;
+    this.visible = visible;
+    this.idleTime = idleTime;
+  }
+
+  /**
+   * Starts polling, or schedules the next poll with the default interval if polling is already started.
+   */
+  synchronized void start() {
+    this.interval = DEFAULT_INTERVAL;
+    schedule();
+  }
+
+  /**
+   * Stops polling.
+   */
+  synchronized void stop() {
+    if (next != null) {
+      next.cancel(false);
+      this.next = null;
+    }
+  }
+
+  synchronized boolean isStarted() {
+    return next != null;
+  }
+
+  /**
+   * Polls right away if a component is being started or stopped.
+   */
+  synchronized void onTransition() {
+    if (next != null
+      && next.getDelay(TimeUnit.MILLISECONDS) > TRANSITION_INTERVAL) {
+      schedule();
+    }
+  }
+
+  synchronized long getInterval() {
+    return interval;
+  }
+
+  private synchronized void schedule() {
+    stop();
+    this.next = scheduler.schedule(() -> executor.execute(this::run), getNextDelay(), TimeUnit.MILLISECONDS);
+  }
+
+  private long getNextDelay() {
+    if (inTransition.getAsBoolean()) {
+      return TRANSITION_INTERVAL;
+    }
+    return interval;
+  }
+
+  private void run() {
+    boolean reachable;
+    try {
+      reachable = poller.poll();
+    } catch (Exception e) {
+      LOGGER.debug("Could not poll cluster.", e);
+      reachable = false;
+    }
+    synchronized (this) {
+      if (next == null) {
+        // stopped while polling
+        return;
+      }
+      if (!reachable) {
+        LOGGER.debug("Cluster not reachable, stopped polling.");
+        stop();
+        return;
+      }
+      this.interval = computeInterval();
+      schedule();
+    }
+  }
+
+  private long computeInterval() {
+    if (!visible.getAsBoolean()
+      || idleTime.getAsLong() > IDLE_THRESHOLD) {
+      return Math.min(interval * 2, MAX_INTERVAL);
+    }
+    return DEFAULT_INTERVAL;
+  }
+}
@@ -12,9 +12,11 @@ package org.jboss.tools.intellij.openshift.tree.application;
 
 import org.jboss.tools.intellij.openshift.utils.odo.Service;
 
+import java.util.Objects;
+
 public class ServiceNode extends BaseNode<NamespaceNode> {
 
-    private final Service service;
+    private volatile Service service;
 
     public ServiceNode(NamespaceNode parent, Service service) {
         super(parent.getRoot(), parent, service.getName());
@@ -24,4 +26,20 @@ public class ServiceNode extends BaseNode<NamespaceNode> {
     public Service getService() {
         return service;
     }
+
+    @Override
+    boolean isModified(BaseNode<?> node) {
+        return super.isModified(node)
+          || node instanceof ServiceNode other
+          && (!Objects.equals(service.getKind(), other.service.getKind())
+          || !Objects.equals(service.getApiVersion(), other.service.getApiVersion()));
+    }
+
+    @Override
+    void update(BaseNode<?> node) {
+        super.update(node);
+        if (node instanceof ServiceNode other) {
+            this.service = other.service;
+        }
+    }
 }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The children that the tree structure last returned for each element. Children that are loaded again are diffed
+ * against them by their identity (class, parent and name, see {@link BaseNode#equals(Object)}).
+ * Unchanged children keep their instance, so that the tree keeps their subtree and expansion, while children that
+ * show different data are updated in place.
+ */
+class TreeSnapshot {
+
+  private final Map<Object, List<Object>> children = new ConcurrentHashMap<>();
+  private final Map<Object, List<Object>> pending = new ConcurrentHashMap<>();
+
+  /**
+   * Returns {@code true} if the children of the given element were loaded before.
+   *
+   * @param element the element to check
+   * @return true if the children of the given element were loaded before
+   */
+  boolean contains(Object element) {
+    return children.containsKey(element);
+  }
+
+  /**
+   * Returns the children that the given element was last loaded with.
+   *
+   * @param element the element to return the children of
+   * @return the children of the given element or an empty list if they were never loaded
+   */
+  List<Object> getChildren(Object element) {
+    return children.getOrDefault(element, Collections.emptyList());
+  }
+
+  /**
+   * Returns and forgets the children that were diffed for the given element but not yet requested by the tree.
+   *
+   * @param element the element to return the pending children of
+   * @return the pending children or {@code null} if there are none
+   */
+  Object[] takePending(Object element) {
+    List<Object> elements = pending.remove(element);
+    return elements == null ? null : elements.toArray();
+  }
+
+  /**
+   * Sets the given children for the given element, to be returned when the tree requests its children next.
+   *
+   * @param element the element to set the children for
+   * @param elements the children of the element
+   */
+  void prime(Object element, List<Object> elements) {
+    children.put(element, elements);
+    pending.put(element, elements);
+  }
+
+  /**
+   * Forgets all the children that were not requested by the tree yet, so that they're loaded when they're requested.
+   */
+  void clearPending() {
+    pending.clear();
+  }
+
+  /**
+   * Records the given children that were loaded for the given element and returns them, with the instances of the
+   * children that the element had before.
+   *
+   * @param element the element that the children were loaded for
+   * @param loaded the children that were loaded
+   * @return the children to return to the tree
+   */
+  Object[] record(Object element, Object[] loaded) {
+    return merge(element, loaded).children.toArray();
+  }
+
+  /**
+   * Diffs the given children that were loaded for the given element against its previous children.
+   * If children were added or removed, the merged children are kept until the tree requests the children of the
+   * element.
+   *
+   * @param element the element that the children were loaded for
+   * @param loaded the children that were loaded
+   * @return the difference to the previous children
+   */
+  Diff update(Object element, Object[] loaded) {
+    Diff diff = merge(element, loaded);
+    if (diff.isStructureChanged()) {
+      pending.put(element, diff.children);
+    }
+    return diff;
+  }
+
+  /**
+   * Forgets the children of the given element and of all its descendants.
+   *
+   * @param element the element to forget
+   */
+  void remove(Object element) {
+    children.keySet().removeIf(key -> isSelfOrDescendant(key, element));
+    pending.keySet().removeIf(key -> isSelfOrDescendant(key, element));
+  }
+
+  private synchronized Diff merge(Object element, Object[] loaded) {
+    Map<Object, Object> previous = new LinkedHashMap<>();
+    children.getOrDefault(element, Collections.emptyList()).forEach(child -> previous.put(child, child));
+    Diff diff = new Diff();
+    for (Object child : loaded) {
+      Object existing = previous.remove(child);
+      if (existing == null) {
+        diff.added.add(child);
+        diff.children.add(child);
+      } else {
+        if (existing instanceof BaseNode<?> existingNode
+          && child instanceof BaseNode<?> childNode
+          && existingNode.isModified(childNode)) {
+          existingNode.update(childNode);
+          diff.modified.add(existing);
+        }
+        diff.children.add(existing);
+      }
+    }
+    diff.removed.addAll(previous.keySet());
+    diff.removed.forEach(this::remove);
+    children.put(element, diff.children);
+    return diff;
+  }
+
+  private static boolean isSelfOrDescendant(Object node, Object ancestor) {
+    Object current = node;
+    while (current != null) {
+      if (current.equals(ancestor)) {
+        return true;
+      }
+      if (!(current instanceof ParentableNode<?> parentable)
+        || parentable.getParent() == current) {
+        return false;
+      }
+      current = parentable.getParent();
+    }
+    return false;
+  }
+
+  static class Diff {
+
+    private final List<Object> children = new ArrayList<>();
+    private final List<Object> added = new ArrayList<>();
+    private final List<Object> removed = new ArrayList<>();
+    private final List<Object> modified = new ArrayList<>();
+
+    List<Object> getAdded() {
+      return added;
+    }
+
+    List<Object> getRemoved() {
+      return removed;
+    }
+
+    List<Object> getModified() {
+      return modified;
+    }
+
+    boolean isStructureChanged() {
+      return !added.isEmpty()
+        || !removed.isEmpty();
+    }
+
+    boolean isEmpty() {
+      return !isStructureChanged()
+        && modified.isEmpty();
+    }
+  }
+}
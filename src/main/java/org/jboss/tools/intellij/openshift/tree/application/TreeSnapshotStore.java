@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.intellij.openapi.util.io.FileUtil;
+import org.jboss.tools.intellij.openshift.utils.Serialization;
+import org.jboss.tools.intellij.openshift.utils.helm.ChartRelease;
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeature;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeatures;
+import org.jboss.tools.intellij.openshift.utils.odo.Service;
+import org.jboss.tools.intellij.openshift.utils.odo.URL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Persists the last known namespace of a cluster with its components, their urls, services and Helm releases,
+ * so that the tree can show them right away when the IDE is started again, before the cluster was reached.
+ * The persisted nodes are marked as stale until they are revalidated.
+ */
+class TreeSnapshotStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TreeSnapshotStore.class);
+
+  private static final List<ComponentFeature> FEATURES = List.of(
+    ComponentFeature.DEV,
+    ComponentFeature.DEV_ON_PODMAN,
+    ComponentFeature.DEPLOY);
+  private static final String KEY_FIELD = "key";
+  private static final String NAMESPACE_FIELD = "namespace";
+  private static final String COMPONENTS_FIELD = "components";
+  private static final String SERVICES_FIELD = "services";
+  private static final String RELEASES_FIELD = "releases";
+  private static final String URLS_FIELD = "urls";
+  private static final String NAME_FIELD = "name";
+  private static final String MANAGED_BY_FIELD = "managedBy";
+  private static final String PATH_FIELD = "path";
+  private static final String FEATURES_FIELD = "features";
+  private static final String HOST_FIELD = "host";
+  private static final String LOCAL_PORT_FIELD = "localPort";
+  private static final String CONTAINER_PORT_FIELD = "containerPort";
+  private static final String API_VERSION_FIELD = "apiVersion";
+  private static final String KIND_FIELD = "kind";
+  private static final String REVISION_FIELD = "revision";
+  private static final String UPDATED_FIELD = "updated";
+  private static final String STATUS_FIELD = "status";
+  private static final String CHART_FIELD = "chart";
+  private static final String APP_VERSION_FIELD = "appVersion";
+
+  private final Path directory;
+
+  TreeSnapshotStore(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Persists the given namespace with its children.
+   *
+   * @param key the key to persist the namespace for (ex. the project and kube context)
+   * @param namespace the namespace to persist
+   * @param childrenOf returns the children of the given node that were loaded
+   */
+  void save(String key, NamespaceNode namespace, Function<Object, List<Object>> childrenOf) {
+    ObjectNode node = JsonNodeFactory.instance.objectNode();
+    node.put(KEY_FIELD, key);
+    node.put(NAMESPACE_FIELD, namespace.getName());
+    ArrayNode components = node.putArray(COMPONENTS_FIELD);
+    ArrayNode services = node.putArray(SERVICES_FIELD);
+    ArrayNode releases = node.putArray(RELEASES_FIELD);
+    for (Object child : childrenOf.apply(namespace)) {
+      if (child instanceof ComponentNode componentNode) {
+        components.add(toJson(componentNode.getComponent(), childrenOf.apply(componentNode)));
+      } else if (child instanceof ServiceNode serviceNode) {
+        services.add(toJson(serviceNode.getService()));
+      } else if (child instanceof ChartReleaseNode releaseNode) {
+        releases.add(toJson(releaseNode.getRelease()));
+      }
+    }
+    try {
+      Files.createDirectories(directory);
+      Path file = getFile(key);
+      Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      Serialization.json().writeValue(temp.toFile(), node);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.debug("Could not persist tree for " + key, e);
+    }
+  }
+
+  /**
+   * Returns the namespace and its children that were persisted for the given key. All returned nodes are stale.
+   *
+   * @param root the root to create the nodes for
+   * @param key the key that the namespace was persisted for
+   * @return the persisted tree or {@code null} if there is none
+   */
+  PersistedTree load(ApplicationsRootNode root, String key) {
+    Path file = getFile(key);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      JsonNode node = Serialization.json().readTree(file.toFile());
+      if (!key.equals(node.path(KEY_FIELD).asText())
+        || !node.hasNonNull(NAMESPACE_FIELD)) {
+        return null;
+      }
+      NamespaceNode namespace = stale(new NamespaceNode(root, node.get(NAMESPACE_FIELD).asText()));
+      Map<Object, List<Object>> children = new HashMap<>();
+      List<Object> namespaceChildren = new ArrayList<>();
+      for (JsonNode component : node.path(COMPONENTS_FIELD)) {
+        ComponentNode componentNode = stale(new ComponentNode(namespace, toComponent(component)));
+        List<Object> urls = new ArrayList<>();
+        for (JsonNode url : component.path(URLS_FIELD)) {
+          urls.add(stale(new URLNode(componentNode, toURL(url))));
+        }
+        namespaceChildren.add(componentNode);
+        children.put(componentNode, urls);
+      }
+      for (JsonNode service : node.path(SERVICES_FIELD)) {
+        namespaceChildren.add(stale(new ServiceNode(namespace, Service.of(
+          service.path(NAME_FIELD).asText(),
+          service.path(API_VERSION_FIELD).asText(),
+          service.path(KIND_FIELD).asText()))));
+      }
+      for (JsonNode release : node.path(RELEASES_FIELD)) {
+        namespaceChildren.add(stale(new ChartReleaseNode(namespace, toRelease(release))));
+      }
+      children.put(namespace, namespaceChildren);
+      return new PersistedTree(namespace, children);
+    } catch (IOException e) {
+      LOGGER.debug("Could not read persisted tree for " + key, e);
+      return null;
+    }
+  }
+
+  private Path getFile(String key) {
+    return directory.resolve(FileUtil.sanitizeFileName(key) + ".json");
+  }
+
+  private static <T extends BaseNode<?>> T stale(T node) {
+    node.setStale(true);
+    return node;
+  }
+
+  private static ObjectNode toJson(Component component, List<Object> children) {
+    ObjectNode node = JsonNodeFactory.instance.objectNode();
+    node.put(NAME_FIELD, component.getName());
+    node.put(MANAGED_BY_FIELD, component.getManagedBy());
+    node.put(PATH_FIELD, component.getPath());
+    ArrayNode features = node.putArray(FEATURES_FIELD);
+    for (ComponentFeature feature : FEATURES) {
+      if (component.getLiveFeatures().is(feature)) {
+        features.add(feature.getLabel());
+      }
+    }
+    ArrayNode urls = node.putArray(URLS_FIELD);
+    for (Object child : children) {
+      if (child instanceof URLNode urlNode) {
+        URL url = urlNode.getUrl();
+        urls.addObject()
+          .put(NAME_FIELD, url.getName())
+          .put(HOST_FIELD, url.getHost())
+          .put(LOCAL_PORT_FIELD, url.getLocalPort())
+          .put(CONTAINER_PORT_FIELD, url.getContainerPort())
+          .put(PATH_FIELD, url.getPath());
+      }
+    }
+    return node;
+  }
+
+  private static ObjectNode toJson(Service service) {
+    return JsonNodeFactory.instance.objectNode()
+      .put(NAME_FIELD, service.getName())
+      .put(API_VERSION_FIELD, service.getApiVersion())
+      .put(KIND_FIELD, service.getKind());
+  }
+
+  private static ObjectNode toJson(ChartRelease release) {
+    return JsonNodeFactory.instance.objectNode()
+      .put(NAME_FIELD, release.getName())
+      .put(NAMESPACE_FIELD, release.getNamespace())
+      .put(REVISION_FIELD, release.getRevision())
+      .put(UPDATED_FIELD, release.getUpdated())
+      .put(STATUS_FIELD, release.getStatus())
+      .put(CHART_FIELD, release.getChart())
+      .put(APP_VERSION_FIELD, release.getApp_version());
+  }
+
+  private static Component toComponent(JsonNode node) {
+    ComponentFeatures features = new ComponentFeatures();
+    for (JsonNode label : node.path(FEATURES_FIELD)) {
+      FEATURES.stream()
+        .filter(feature -> feature.getLabel().equals(label.asText()))
+        .findFirst()
+        .ifPresent(features::addFeature);
+    }
+    return Component.of(
+      node.path(NAME_FIELD).asText(),
+      getText(node, MANAGED_BY_FIELD),
+      features,
+      getText(node, PATH_FIELD),
+      null);
+  }
+
+  private static URL toURL(JsonNode node) {
+    return URL.of(
+      node.path(NAME_FIELD).asText(),
+      getText(node, HOST_FIELD),
+      getText(node, LOCAL_PORT_FIELD),
+      getText(node, CONTAINER_PORT_FIELD),
+      getText(node, PATH_FIELD));
+  }
+
+  private static ChartRelease toRelease(JsonNode node) {
+    ChartRelease release = new ChartRelease();
+    release.setName(node.path(NAME_FIELD).asText());
+    release.setNamespace(getText(node, NAMESPACE_FIELD));
+    release.setRevision(getText(node, REVISION_FIELD));
+    release.setUpdated(getText(node, UPDATED_FIELD));
+    release.setStatus(getText(node, STATUS_FIELD));
+    release.setChart(getText(node, CHART_FIELD));
+    release.setApp_version(getText(node, APP_VERSION_FIELD));
+    return release;
+  }
+
+  private static String getText(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  static final class PersistedTree {
+
+    private final NamespaceNode namespace;
+    private final Map<Object, List<Object>> children;
+
+    private PersistedTree(NamespaceNode namespace, Map<Object, List<Object>> children) {
+      this.namespace = namespace;
+      this.children = children;
+    }
+
+    NamespaceNode getNamespace() {
+      return namespace;
+    }
+
+    Map<Object, List<Object>> getChildren() {
+      return children;
+    }
+  }
+}
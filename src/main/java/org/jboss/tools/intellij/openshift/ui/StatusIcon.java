@@ -26,7 +26,11 @@ public class StatusIcon {
   }
 
   public void setLoading() {
-    set(AnimatedIcon.Default.INSTANCE, null);
+    setLoading(null);
+  }
+
+  public void setLoading(String message) {
+    set(AnimatedIcon.Default.INSTANCE, message);
   }
 
   public void setSuccess(String message) {
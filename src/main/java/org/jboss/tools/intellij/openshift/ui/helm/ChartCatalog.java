@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import org.jboss.tools.intellij.openshift.utils.helm.Chart;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The charts of a repository grouped into {@link ChartVersions} and indexed for search. A catalog is immutable and
+ * kept for as long as the charts of its repository do not change, so that opening the charts dialog again does not
+ * group, sort and index the same charts again.
+ */
+class ChartCatalog {
+
+  private static final Map<String, ChartCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the catalog for the given charts of the given repository. The catalog that was built the last time is
+   * returned if the charts did not change since.
+   *
+   * @param repository the name of the repository
+   * @param charts the charts of the repository
+   * @return the catalog of the charts
+   */
+  static ChartCatalog get(String repository, List<Chart> charts) {
+    ChartCatalog catalog = CATALOGS.get(repository);
+    if (catalog == null
+      || !catalog.isBuiltFrom(charts)) {
+      catalog = new ChartCatalog(charts);
+      CATALOGS.put(repository, catalog);
+    }
+    return catalog;
+  }
+
+  /**
+   * Forgets the catalogs of the repositories that are not in the given names any more.
+   *
+   * @param repositories the names of the repositories that are configured
+   */
+  static void retain(Collection<String> repositories) {
+    CATALOGS.keySet().retainAll(repositories);
+  }
+
+  private final List<Chart> source;
+  private final List<ChartVersions> charts;
+  private final ChartSearchIndex searchIndex;
+
+  ChartCatalog(List<Chart> source) {
+    this.source = source;
+    this.charts = Collections.unmodifiableList(ChartVersions.toChartVersions(source));
+    this.searchIndex = new ChartSearchIndex(charts);
+  }
+
+  private boolean isBuiltFrom(List<Chart> charts) {
+    // the charts that are read from a repository index are the same instance as long as the index is unchanged
+    return source == charts
+      || source.equals(charts);
+  }
+
+  List<ChartVersions> getCharts() {
+    return charts;
+  }
+
+  ChartSearchIndex getSearchIndex() {
+    return searchIndex;
+  }
+}
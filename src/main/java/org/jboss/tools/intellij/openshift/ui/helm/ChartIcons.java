@@ -16,33 +16,73 @@ import org.jboss.tools.intellij.openshift.utils.helm.ChartRelease;
 import javax.swing.Icon;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Optional;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ChartIcons {
 
   private static final Path BASE_PATH = Paths.get("images", "helm");
   private static final String HELM_ICON = "helm.png";
+  private static final int MAX_CACHED_ICONS = 1024;
+
+  private static final SubstringMatcher MATCHER = new SubstringMatcher(Stream.of(IconExpression.values())
+    .map(expression -> expression.substring)
+    .collect(Collectors.toList()));
+
+  /* the icons of the charts that were rendered last, by chart name */
+  private static final Map<String, CachedIcon> ICONS = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, CachedIcon> eldest) {
+      return size() > MAX_CACHED_ICONS;
+    }
+  };
 
   public static Icon getHelmIcon() {
     return IconManager.getInstance().getIcon(BASE_PATH.resolve(HELM_ICON).toString(), ChartIcons.class);
   }
 
   public static Icon getIcon(ChartVersions chart) {
-    return getIcon(chart.getName() + chart.getDescription());
+    return getIcon(chart.getName(), chart.getDescription());
   }
 
   public static Icon getIcon(ChartRelease chart) {
-    return getIcon(chart.getChart());
+    return getIcon(chart.getChart(), null);
+  }
+
+  /**
+   * Returns the icon of the first {@link IconExpression} that the given name and description contain.
+   * The icon is looked up in a cache of the recently used icons first, since it is requested on each repaint of a chart.
+   */
+  private static Icon getIcon(String name, String description) {
+    synchronized (ICONS) {
+      CachedIcon cached = ICONS.get(name);
+      if (cached != null
+        && Objects.equals(cached.description, description)) {
+        return cached.icon;
+      }
+    }
+    int found = MATCHER.find(name, description);
+    Icon icon = found < 0 ?
+      getHelmIcon()
+      : IconManager.getInstance().getIcon(IconExpression.values()[found].filename, ChartIcons.class);
+    synchronized (ICONS) {
+      ICONS.put(name, new CachedIcon(description, icon));
+    }
+    return icon;
   }
 
-  private static Icon getIcon(String name) {
-    Optional<IconExpression> found = Stream.of(IconExpression.values())
-      .filter((IconExpression available) -> available.isMatching(name))
-      .findFirst();
-    return found
-      .map(iconExpression -> IconManager.getInstance().getIcon(iconExpression.filename, ChartIcons.class))
-      .orElseGet(ChartIcons::getHelmIcon);
+  private static final class CachedIcon {
+
+    private final String description;
+    private final Icon icon;
+
+    private CachedIcon(String description, Icon icon) {
+      this.description = description;
+      this.icon = icon;
+    }
   }
 
   private enum IconExpression {
@@ -77,10 +117,5 @@ public class ChartIcons {
       this.filename = BASE_PATH.resolve(filename).toString();
       this.substring = substring;
     }
-
-    public boolean isMatching(String chartText) {
-      /* using regex was too slow, using simple substring matching */
-      return chartText.toLowerCase().contains(substring.toLowerCase());
-    }
   }
 }
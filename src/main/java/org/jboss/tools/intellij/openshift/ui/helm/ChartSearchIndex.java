@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import com.intellij.openapi.util.TextRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A search index over the name, description and keywords of charts, built once for a list of charts.
+ * Query terms of 3 and more characters are looked up in a trigram index and match anywhere in the text,
+ * shorter terms match the beginning of words. All terms of a query have to match.
+ * Matches are ranked by where they were found: exact chart name, name prefix, name, keyword and finally description.
+ */
+class ChartSearchIndex {
+
+  static final ChartSearchIndex EMPTY = new ChartSearchIndex(Collections.emptyList());
+
+  private static final int GRAM_LENGTH = 3;
+
+  private static final int RANK_NAME_EQUALS = 100;
+  private static final int RANK_NAME_PREFIX = 50;
+  private static final int RANK_NAME_CONTAINS = 20;
+  private static final int RANK_KEYWORD_EQUALS = 15;
+  private static final int RANK_KEYWORD_CONTAINS = 10;
+  private static final int RANK_DESCRIPTION_CONTAINS = 5;
+
+  private final int size;
+  /* the chart names without repository, lower case */
+  private final String[] names;
+  private final String[] descriptions;
+  private final String[][] keywords;
+  /* name, description and keywords, lower case */
+  private final String[] texts;
+  private final Map<Long, int[]> trigrams;
+  private final NavigableMap<String, int[]> words;
+
+  ChartSearchIndex(List<ChartVersions> charts) {
+    this.size = charts.size();
+    this.names = new String[size];
+    this.descriptions = new String[size];
+    this.keywords = new String[size][];
+    this.texts = new String[size];
+    Map<Long, Postings> trigramPostings = new HashMap<>();
+    Map<String, Postings> wordPostings = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      ChartVersions chart = charts.get(i);
+      names[i] = toLowerCase(getShortName(chart.getName()));
+      descriptions[i] = toLowerCase(chart.getDescription());
+      keywords[i] = chart.getKeywords().stream()
+        .map(ChartSearchIndex::toLowerCase)
+        .toArray(String[]::new);
+      texts[i] = toLowerCase(chart.getName()) + '\n' + descriptions[i] + '\n' + String.join("\n", keywords[i]);
+      addTrigrams(i, texts[i], trigramPostings);
+      addWords(i, texts[i], wordPostings);
+    }
+    this.trigrams = new HashMap<>(trigramPostings.size());
+    trigramPostings.forEach((trigram, postings) -> trigrams.put(trigram, postings.toArray()));
+    this.words = new TreeMap<>();
+    wordPostings.forEach((word, postings) -> words.put(word, postings.toArray()));
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the charts that match all terms of the given query.
+   *
+   * @param query the terms to search, separated by whitespace
+   * @return the result, matching all charts if the query has no terms
+   */
+  Result search(String query) {
+    List<String> terms = getTerms(query);
+    if (terms.isEmpty()) {
+      return Result.ALL;
+    }
+    int[] matches = null;
+    for (String term : terms) {
+      int[] termMatches = term.length() < GRAM_LENGTH ?
+        getWordPrefixMatches(term)
+        : getSubstringMatches(term);
+      matches = matches == null ? termMatches : intersect(matches, termMatches);
+      if (matches.length == 0) {
+        break;
+      }
+    }
+    int[] ranks = new int[size];
+    Arrays.fill(ranks, -1);
+    for (int index : matches) {
+      int rank = 0;
+      for (String term : terms) {
+        rank += getRank(index, term);
+      }
+      ranks[index] = rank;
+    }
+    return new Result(terms, ranks, matches.length);
+  }
+
+  private int[] getSubstringMatches(String term) {
+    int[] candidates = null;
+    for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+      int[] postings = trigrams.get(toTrigram(term, i));
+      if (postings == null) {
+        return new int[0];
+      }
+      candidates = candidates == null ? postings : intersect(candidates, postings);
+    }
+    if (candidates == null) {
+      return new int[0];
+    }
+    // all trigrams of a term may be present without the term being present
+    int[] matches = new int[candidates.length];
+    int count = 0;
+    for (int candidate : candidates) {
+      if (texts[candidate].contains(term)) {
+        matches[count++] = candidate;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  private int[] getWordPrefixMatches(String term) {
+    BitSet matches = new BitSet(size);
+    for (int[] postings : words.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+      for (int index : postings) {
+        matches.set(index);
+      }
+    }
+    return matches.stream().toArray();
+  }
+
+  private int getRank(int index, String term) {
+    String name = names[index];
+    if (name.equals(term)) {
+      return RANK_NAME_EQUALS;
+    } else if (name.startsWith(term)) {
+      return RANK_NAME_PREFIX;
+    } else if (name.contains(term)) {
+      return RANK_NAME_CONTAINS;
+    }
+    int rank = 0;
+    for (String keyword : keywords[index]) {
+      if (keyword.equals(term)) {
+        return RANK_KEYWORD_EQUALS;
+      } else if (keyword.contains(term)) {
+        rank = RANK_KEYWORD_CONTAINS;
+      }
+    }
+    if (rank == 0
+      && descriptions[index].contains(term)) {
+      rank = RANK_DESCRIPTION_CONTAINS;
+    }
+    return rank;
+  }
+
+  /**
+   * Returns the ranges of the given text that match the given terms, sorted and without overlaps.
+   *
+   * @param text the text to get the matching ranges of
+   * @param terms the lower case terms to match
+   * @return the matching ranges
+   */
+  static List<TextRange> getMatchingRanges(String text, List<String> terms) {
+    if (text == null
+      || terms.isEmpty()) {
+      return Collections.emptyList();
+    }
+    String lowerCase = toLowerCase(text);
+    boolean[] matching = new boolean[lowerCase.length()];
+    for (String term : terms) {
+      for (int start = lowerCase.indexOf(term); start >= 0; start = lowerCase.indexOf(term, start + 1)) {
+        if (term.length() >= GRAM_LENGTH
+          || isWordStart(lowerCase, start)) {
+          Arrays.fill(matching, start, start + term.length(), true);
+        }
+      }
+    }
+    List<TextRange> ranges = new ArrayList<>();
+    for (int start = 0; start < matching.length; start++) {
+      if (matching[start]) {
+        int end = start;
+        while (end < matching.length
+          && matching[end]) {
+          end++;
+        }
+        ranges.add(new TextRange(start, end));
+        start = end;
+      }
+    }
+    return ranges;
+  }
+
+  private static List<String> getTerms(String query) {
+    if (query == null) {
+      return Collections.emptyList();
+    }
+    List<String> terms = new ArrayList<>();
+    for (String term : toLowerCase(query).split("\\s+")) {
+      if (!term.isEmpty()
+        && !terms.contains(term)) {
+        terms.add(term);
+      }
+    }
+    return terms;
+  }
+
+  private static void addTrigrams(int index, String text, Map<Long, Postings> postings) {
+    for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+      postings.computeIfAbsent(toTrigram(text, i), key -> new Postings()).add(index);
+    }
+  }
+
+  private static void addWords(int index, String text, Map<String, Postings> postings) {
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean wordCharacter = i < text.length()
+        && Character.isLetterOrDigit(text.charAt(i));
+      if (wordCharacter
+        && start < 0) {
+        start = i;
+      } else if (!wordCharacter
+        && start >= 0) {
+        postings.computeIfAbsent(text.substring(start, i), key -> new Postings()).add(index);
+        start = -1;
+      }
+    }
+  }
+
+  private static boolean isWordStart(String text, int index) {
+    return index == 0
+      || !Character.isLetterOrDigit(text.charAt(index - 1));
+  }
+
+  private static long toTrigram(String text, int index) {
+    return ((long) text.charAt(index) << 32)
+      | ((long) text.charAt(index + 1) << 16)
+      | text.charAt(index + 2);
+  }
+
+  private static int[] intersect(int[] sorted1, int[] sorted2) {
+    int[] intersection = new int[Math.min(sorted1.length, sorted2.length)];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < sorted1.length
+      && j < sorted2.length) {
+      if (sorted1[i] < sorted2[j]) {
+        i++;
+      } else if (sorted1[i] > sorted2[j]) {
+        j++;
+      } else {
+        intersection[count++] = sorted1[i];
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(intersection, count);
+  }
+
+  private static String getShortName(String name) {
+    if (name == null) {
+      return null;
+    }
+    return name.substring(name.lastIndexOf('/') + 1);
+  }
+
+  private static String toLowerCase(String text) {
+    return text == null ? "" : text.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * The charts of a search, by their index in the list that the search index was built for.
+   */
+  static class Result {
+
+    static final Result ALL = new Result(Collections.emptyList(), null, -1);
+
+    private final List<String> terms;
+    private final int[] ranks;
+    private final int count;
+
+    private Result(List<String> terms, int[] ranks, int count) {
+      this.terms = terms;
+      this.ranks = ranks;
+      this.count = count;
+    }
+
+    boolean isAll() {
+      return ranks == null;
+    }
+
+    boolean matches(int index) {
+      return ranks == null
+        || (index < ranks.length
+        && ranks[index] >= 0);
+    }
+
+    /**
+     * Returns the rank of the chart at the given index, higher ranks are better matches.
+     *
+     * @param index the index of the chart
+     * @return the rank or -1 if the chart does not match
+     */
+    int getRank(int index) {
+      if (ranks == null) {
+        return 0;
+      } else if (index >= ranks.length) {
+        return -1;
+      }
+      return ranks[index];
+    }
+
+    /**
+     * @return the number of matching charts or -1 if all charts match
+     */
+    int getCount() {
+      return count;
+    }
+
+    List<String> getTerms() {
+      return terms;
+    }
+  }
+
+  /**
+   * The indexes of the charts that contain a trigram or word, in ascending order.
+   */
+  private static final class Postings {
+
+    private int[] indexes = new int[4];
+    private int size;
+
+    private void add(int index) {
+      if (size > 0
+        && indexes[size - 1] == index) {
+        return;
+      }
+      if (size == indexes.length) {
+        indexes = Arrays.copyOf(indexes, size * 2);
+      }
+      indexes[size++] = index;
+    }
+
+    private int[] toArray() {
+      return Arrays.copyOf(indexes, size);
+    }
+  }
+}
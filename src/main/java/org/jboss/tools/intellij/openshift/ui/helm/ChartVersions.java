@@ -11,40 +11,63 @@
 package org.jboss.tools.intellij.openshift.ui.helm;
 
 import com.intellij.openapi.util.Pair;
-import com.intellij.webcore.packaging.PackageVersionComparator;
 import org.jboss.tools.intellij.openshift.utils.helm.Chart;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 public class ChartVersions {
 
+  private static final Comparator<ChartVersions> BY_NAME_AND_DESCRIPTION = Comparator
+    .comparing(ChartVersions::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+    .thenComparing(ChartVersions::getDescription, Comparator.nullsFirst(Comparator.naturalOrder()));
+
   public static List<ChartVersions> toChartVersions(final List<Chart> charts) {
-    final Map<Pair<String, String>, Map<String, List<Chart>>> chartsByVersion = charts.stream()
-      .collect(
-        // group by (name, description) & version
-        Collectors.groupingBy(chart -> new Pair<>(chart.getName(), chart.getDescription()),
-          Collectors.groupingBy(Chart::getVersion)));
-    return chartsByVersion.entrySet().stream()
-      .map(entry -> {
-        String name = entry.getKey().getFirst();
-        String description = entry.getKey().getSecond();
-        List<String> versions = new ArrayList<>(entry.getValue().keySet());
-        return new ChartVersions(name, description, versions);
-      })
+    // group by (name, description), the groups are independent and sorted in parallel
+    final ConcurrentMap<Pair<String, String>, List<Chart>> chartsByName = charts.parallelStream()
+      .collect(Collectors.groupingByConcurrent(chart -> new Pair<>(chart.getName(), chart.getDescription())));
+    // the concurrent map has no stable order, the result is sorted so that the table always lists charts the same way
+    return chartsByName.entrySet().parallelStream()
+      .map(ChartVersions::toChartVersions)
+      .sorted(BY_NAME_AND_DESCRIPTION)
       .collect(Collectors.toList());
   }
 
+  private static ChartVersions toChartVersions(Map.Entry<Pair<String, String>, List<Chart>> group) {
+    Set<String> versions = new LinkedHashSet<>();
+    Set<String> keywords = new LinkedHashSet<>();
+    for (Chart chart : group.getValue()) {
+      versions.add(chart.getVersion());
+      keywords.addAll(chart.getKeywords());
+    }
+    return new ChartVersions(
+      group.getKey().getFirst(),
+      group.getKey().getSecond(),
+      new ArrayList<>(versions),
+      new ArrayList<>(keywords));
+  }
+
   private final String name;
   private final String description;
   private final List<String> versions;
+  private final List<String> keywords;
 
   public ChartVersions(final String name, final String description, final List<String> versions) {
+    this(name, description, versions, Collections.emptyList());
+  }
+
+  public ChartVersions(final String name, final String description, final List<String> versions, final List<String> keywords) {
     this.name = name;
     this.description = description;
     this.versions = sortVersions(versions);
+    this.keywords = keywords;
   }
 
   public String getName() {
@@ -59,9 +82,16 @@ public class ChartVersions {
     return versions;
   }
 
+  public List<String> getKeywords() {
+    return keywords;
+  }
+
   private List<String> sortVersions(List<String> versions) {
+    // each version is parsed once instead of on each comparison
     return versions.stream()
-      .sorted(new PackageVersionComparator().reversed())
+      .map(VersionKey::parse)
+      .sorted(Comparator.reverseOrder())
+      .map(VersionKey::getVersion)
       .collect(Collectors.toList());
   }
 }
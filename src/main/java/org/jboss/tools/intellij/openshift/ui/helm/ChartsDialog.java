@@ -16,12 +16,16 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.OnePixelDivider;
 import com.intellij.openapi.ui.ValidationInfo;
 import com.intellij.openapi.wm.IdeFocusManager;
+import com.intellij.ui.ColoredTableCellRenderer;
+import com.intellij.ui.DocumentAdapter;
 import com.intellij.ui.OnePixelSplitter;
+import com.intellij.ui.SimpleTextAttributes;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBPanel;
 import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.components.JBTextArea;
 import com.intellij.ui.render.RenderingUtil;
+import com.intellij.ui.speedSearch.SpeedSearchUtil;
 import com.intellij.ui.table.JBTable;
 import com.intellij.util.ui.JBUI;
 import com.redhat.devtools.intellij.common.ui.UndecoratedDialog;
@@ -31,22 +35,31 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.swing.ImageIcon;
 import javax.swing.JComponent;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
+import javax.swing.RowFilter;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
 import javax.swing.border.Border;
+import javax.swing.event.DocumentEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableRowSorter;
 import net.miginfocom.swing.MigLayout;
 import org.jboss.tools.intellij.openshift.tree.application.ApplicationsRootNode;
 import org.jboss.tools.intellij.openshift.ui.StatusIcon;
 import org.jboss.tools.intellij.openshift.ui.SwingUtils;
-import org.jboss.tools.intellij.openshift.ui.TableRowFilterFactory;
-import org.jboss.tools.intellij.openshift.utils.helm.Chart;
 import org.jboss.tools.intellij.openshift.utils.helm.Helm;
+import org.jboss.tools.intellij.openshift.utils.helm.HelmRepository;
 import org.jboss.tools.intellij.openshift.utils.odo.Odo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -56,7 +69,6 @@ import org.slf4j.LoggerFactory;
 import static org.jboss.tools.intellij.openshift.ui.SwingUtils.EXECUTOR_BACKGROUND;
 import static org.jboss.tools.intellij.openshift.ui.SwingUtils.EXECUTOR_UI;
 import static org.jboss.tools.intellij.openshift.ui.SwingUtils.setBold;
-import static org.jboss.tools.intellij.openshift.ui.helm.ChartVersions.toChartVersions;
 
 public class ChartsDialog extends UndecoratedDialog {
 
@@ -75,6 +87,10 @@ public class ChartsDialog extends UndecoratedDialog {
   private static final String OPENSHIFT_REPO_NAME = "openshift";
   private static final String OPENSHIFT_REPO_URL = "https://charts.openshift.io/";
 
+  private static final List<RowSorter.SortKey> RANK_SORT_KEYS = List.of(
+    new RowSorter.SortKey(ChartsTableModel.RANK_COLUMN_INDEX, SortOrder.DESCENDING),
+    new RowSorter.SortKey(ChartsTableModel.NAME_COLUMN_INDEX, SortOrder.ASCENDING));
+
   private final ApplicationsRootNode rootNode;
   private final Helm helm;
   private final Odo odo;
@@ -83,6 +99,7 @@ public class ChartsDialog extends UndecoratedDialog {
   private JBLabel title;
   private ChartsTableModel chartsTableModel;
   private JBTable chartsTable;
+  private TableRowSorter<ChartsTableModel> chartsTableSorter;
   private StatusIcon statusIcon;
 
   public ChartsDialog(ApplicationsRootNode rootNode, Helm helm, Odo odo, Project project) {
@@ -144,9 +161,14 @@ public class ChartsDialog extends UndecoratedDialog {
     chartsTable.setBorder(JBUI.Borders.empty(2, 2, 2, 0));
     JBScrollPane tableScrolledPane = SwingUtils.createScrollPane(chartsTable);
     tableScrolledPane.setBorder(JBUI.Borders.empty());
-    TableRowFilterFactory
-      .createOn(chartsTable)
-      .usingInput(filterTextArea.getDocument());
+    this.chartsTableSorter = new TableRowSorter<>(chartsTableModel);
+    chartsTable.setRowSorter(chartsTableSorter);
+    filterTextArea.getDocument().addDocumentListener(new DocumentAdapter() {
+      @Override
+      protected void textChanged(@NotNull DocumentEvent e) {
+        filter(filterTextArea.getText(), chartsTable, chartsTableModel, chartsTableSorter);
+      }
+    });
     splitter.setFirstComponent(tableScrolledPane);
 
     InstallOrDetailsPanels installOrDetailsPanels = new InstallOrDetailsPanels(rootNode, getDisposable(), helm, odo, project);
@@ -185,14 +207,38 @@ public class ChartsDialog extends UndecoratedDialog {
     };
   }
 
+  private static void filter(String query, JTable table, ChartsTableModel tableModel, TableRowSorter<ChartsTableModel> sorter) {
+    if (tableModel.search(query)) {
+      sorter.setRowFilter(null);
+      if (RANK_SORT_KEYS.equals(sorter.getSortKeys())) {
+        sorter.setSortKeys(null);
+      }
+    } else {
+      sorter.setRowFilter(new RowFilter<ChartsTableModel, Integer>() {
+        @Override
+        public boolean include(Entry<? extends ChartsTableModel, ? extends Integer> entry) {
+          return entry.getModel().matches(entry.getIdentifier());
+        }
+      });
+      sorter.setSortKeys(RANK_SORT_KEYS);
+    }
+    table.repaint();
+  }
+
   private CompletableFuture<Void> setupTable(JTable table, ChartsTableModel tableModel, StatusIcon statusIcon) {
     return CompletableFuture
       .runAsync(() -> {
           statusIcon.setLoading();
           tableModel.setupColumns();
           table.getColumn(ChartsTableModel.ICON_COLUMN).setMaxWidth(ICON_COLUMN_WIDTH);
-          table.getColumn(ChartsTableModel.NAME_COLUMN).setPreferredWidth(NAME_COLUMN_WIDTH);
-          table.getColumn(ChartsTableModel.DESCRIPTION_COLUMN).setPreferredWidth(DESCRIPTION_COLUMN_WIDTH);
+          TableColumn nameColumn = table.getColumn(ChartsTableModel.NAME_COLUMN);
+          nameColumn.setPreferredWidth(NAME_COLUMN_WIDTH);
+          nameColumn.setCellRenderer(new MatchHighlightingRenderer(tableModel));
+          TableColumn descriptionColumn = table.getColumn(ChartsTableModel.DESCRIPTION_COLUMN);
+          descriptionColumn.setPreferredWidth(DESCRIPTION_COLUMN_WIDTH);
+          descriptionColumn.setCellRenderer(new MatchHighlightingRenderer(tableModel));
+          // the rank is only used to sort the filtered charts
+          table.removeColumn(table.getColumn(ChartsTableModel.RANK_COLUMN));
         }
         , EXECUTOR_UI);
   }
@@ -214,21 +260,107 @@ public class ChartsDialog extends UndecoratedDialog {
     final StatusIcon statusIcon,
     final Helm helm) {
       return CompletableFuture
-        .supplyAsync((Supplier<List<Chart>>) () -> {
+        .supplyAsync((Supplier<List<HelmRepository>>) () -> {
           try {
-            return helm.search();
+            return helm.listRepos();
           } catch (IOException e) {
-            LOGGER.warn("Could not load all helm charts.", e);
-            return Collections.emptyList();
+            throw new CompletionException(e);
           }
         }, EXECUTOR_BACKGROUND)
-        .thenAcceptAsync((charts) -> {
-          List<ChartVersions> chartVersions = toChartVersions(charts);
-          tableModel.setCharts(chartVersions);
-          table.setRowSelectionInterval(0, 0);
-          table.getParent().doLayout(); // fore repaint
-          statusIcon.setEmpty();
-        }, EXECUTOR_UI);
+        .handleAsync((repositories, error) -> {
+          if (error != null) {
+            LOGGER.warn("Could not list helm repositories.", error);
+            statusIcon.setError("Could not list helm repositories");
+            return CompletableFuture.<Void>completedFuture(null);
+          }
+          // catalogs of removed repositories would be kept forever otherwise
+          ChartCatalog.retain(repositories.stream()
+            .map(HelmRepository::getName)
+            .collect(Collectors.toSet()));
+          LoadingStatus status = new LoadingStatus(repositories.size(), statusIcon);
+          // each repository is loaded on its own so that a slow or unreachable one does not hold back the others
+          return CompletableFuture.allOf(repositories.stream()
+            .map(repository -> load(repository, table, tableModel, status, helm))
+            .toArray(CompletableFuture[]::new));
+        }, EXECUTOR_UI)
+        .thenCompose(loaded -> loaded);
+  }
+
+  private CompletableFuture<Void> load(
+    final HelmRepository repository,
+    final JTable table,
+    final ChartsTableModel tableModel,
+    final LoadingStatus status,
+    final Helm helm) {
+    return CompletableFuture
+      .supplyAsync(() -> {
+        try {
+          ChartCatalog catalog = ChartCatalog.get(repository.getName(), helm.search(repository));
+          return new ChartsTableModel.Charts(catalog.getCharts(), catalog.getSearchIndex());
+        } catch (IOException e) {
+          throw new CompletionException(e);
+        }
+      }, EXECUTOR_BACKGROUND)
+      .handleAsync((charts, error) -> {
+        if (error != null) {
+          LOGGER.warn("Could not load helm charts of repository {}.", repository.getName(), error);
+          status.failed(repository, error);
+        } else {
+          tableModel.addCharts(charts);
+          if (table.getSelectedRow() < 0
+            && table.getRowCount() > 0) {
+            table.setRowSelectionInterval(0, 0);
+          }
+          status.loaded();
+        }
+        return null;
+      }, EXECUTOR_UI);
+  }
+
+  /**
+   * Shows how many repositories are still loading and which ones could not be loaded. Accessed in the UI thread only.
+   */
+  private static class LoadingStatus {
+
+    private final int repositories;
+    private final StatusIcon statusIcon;
+    private final Map<String, String> errors = new TreeMap<>();
+    private int done;
+
+    private LoadingStatus(int repositories, StatusIcon statusIcon) {
+      this.repositories = repositories;
+      this.statusIcon = statusIcon;
+      update();
+    }
+
+    private void loaded() {
+      done++;
+      update();
+    }
+
+    private void failed(HelmRepository repository, Throwable error) {
+      Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+      errors.put(repository.getName(), cause == null ? null : cause.getMessage());
+      done++;
+      update();
+    }
+
+    private void update() {
+      if (done < repositories) {
+        statusIcon.setLoading("Loading charts of " + (repositories - done) + " of " + repositories + " repositories");
+      } else if (!errors.isEmpty()) {
+        statusIcon.setError("Could not load charts of " + String.join(", ", errors.keySet()));
+      } else {
+        statusIcon.setEmpty();
+      }
+      statusIcon.get().setToolTipText(errors.isEmpty() ? null : toToolTip(errors));
+    }
+
+    private static String toToolTip(Map<String, String> errors) {
+      return errors.entrySet().stream()
+        .map(entry -> entry.getKey() + ": " + entry.getValue())
+        .collect(Collectors.joining("<br>", "<html>", "</html>"));
+    }
   }
 
   private static Border createSearchTextBorders() {
@@ -237,18 +369,119 @@ public class ChartsDialog extends UndecoratedDialog {
       JBUI.Borders.empty(1, 0, 2, 0));
   }
 
+  /**
+   * Renders the parts of the cell text that match the current search terms highlighted.
+   */
+  private static class MatchHighlightingRenderer extends ColoredTableCellRenderer {
+
+    private static final SimpleTextAttributes MATCH_ATTRIBUTES =
+      new SimpleTextAttributes(SimpleTextAttributes.STYLE_SEARCH_MATCH, null);
+
+    private final ChartsTableModel model;
+
+    private MatchHighlightingRenderer(ChartsTableModel model) {
+      this.model = model;
+    }
+
+    @Override
+    protected void customizeCellRenderer(@NotNull JTable table, @Nullable Object value, boolean selected, boolean hasFocus, int row, int column) {
+      if (value == null) {
+        return;
+      }
+      String text = value.toString();
+      SpeedSearchUtil.appendColoredFragments(this,
+        text,
+        ChartSearchIndex.getMatchingRanges(text, model.getSearchTerms()),
+        SimpleTextAttributes.REGULAR_ATTRIBUTES,
+        MATCH_ATTRIBUTES);
+    }
+  }
+
   private static class ChartsTableModel extends DefaultTableModel {
 
     public static final String ICON_COLUMN = "Icon";
     public static final String NAME_COLUMN = "Name";
     public static final String DESCRIPTION_COLUMN = "Description";
+    public static final String RANK_COLUMN = "Rank";
+    public static final int NAME_COLUMN_INDEX = 1;
+    public static final int RANK_COLUMN_INDEX = 3;
     private List<ChartVersions> charts;
-
-    public void setCharts(List<ChartVersions> newCharts) {
-      getDataVector().clear();
+    /* the charts of each repository, in the order they were added */
+    private List<Charts> segments;
+    private String query;
+    private List<String> searchTerms = Collections.emptyList();
+
+    /**
+     * Appends the given charts and notifies the listeners with a single event for all of them.
+     *
+     * @param newCharts the charts to append
+     */
+    public void addCharts(Charts newCharts) {
+      if (newCharts.charts.isEmpty()) {
+        return;
+      }
       List<ChartVersions> charts = getCharts();
-      charts.clear();
-      charts.addAll(newCharts);
+      int first = charts.size();
+      charts.addAll(newCharts.charts);
+      newCharts.offset = first;
+      newCharts.searchResult = newCharts.searchIndex.search(query);
+      getSegments().add(newCharts);
+      fireTableRowsInserted(first, charts.size() - 1);
+    }
+
+    /**
+     * Searches the charts for the given query. The result is kept until the next search and applied to the charts that
+     * are added meanwhile.
+     *
+     * @param query the query to search
+     * @return {@code true} if the query has no terms and thus matches all charts
+     */
+    public boolean search(String query) {
+      this.query = query;
+      List<String> terms = Collections.emptyList();
+      for (Charts segment : getSegments()) {
+        segment.searchResult = segment.searchIndex.search(query);
+        terms = segment.searchResult.getTerms();
+      }
+      this.searchTerms = terms;
+      return query == null
+        || query.isBlank();
+    }
+
+    public List<String> getSearchTerms() {
+      return searchTerms;
+    }
+
+    public boolean matches(int index) {
+      Charts segment = getSegment(index);
+      return segment == null
+        || segment.searchResult.matches(index - segment.offset);
+    }
+
+    private int getRank(int index) {
+      Charts segment = getSegment(index);
+      if (segment == null) {
+        return -1;
+      }
+      return segment.searchResult.getRank(index - segment.offset);
+    }
+
+    private Charts getSegment(int index) {
+      List<Charts> segments = getSegments();
+      int low = 0;
+      int high = segments.size() - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        Charts segment = segments.get(middle);
+        if (index < segment.offset) {
+          high = middle - 1;
+        } else if (index >= segment.offset + segment.charts.size()) {
+          low = middle + 1;
+        } else {
+          return segment;
+        }
+      }
+      return null;
     }
 
     @Override
@@ -269,6 +502,7 @@ public class ChartsDialog extends UndecoratedDialog {
       addColumn(ICON_COLUMN);
       addColumn(NAME_COLUMN);
       addColumn(DESCRIPTION_COLUMN);
+      addColumn(RANK_COLUMN);
     }
 
     @Override
@@ -279,6 +513,8 @@ public class ChartsDialog extends UndecoratedDialog {
         case 1:
         case 2:
           return String.class;
+        case 3:
+          return Integer.class;
         default:
           return null;
       }
@@ -286,7 +522,7 @@ public class ChartsDialog extends UndecoratedDialog {
 
     @Override
     public int getColumnCount() {
-      return 3;
+      return 4;
     }
 
     @Override
@@ -303,6 +539,8 @@ public class ChartsDialog extends UndecoratedDialog {
           return chart.getName();
         case 2:
           return chart.getDescription();
+        case 3:
+          return getRank(rowIndex);
         default:
           return null;
       }
@@ -314,6 +552,30 @@ public class ChartsDialog extends UndecoratedDialog {
       }
       return charts;
     }
+
+    private List<Charts> getSegments() {
+      if (segments == null) {
+        this.segments = new ArrayList<>();
+      }
+      return segments;
+    }
+
+    /**
+     * The charts of a repository together with the search index that was built for them.
+     */
+    private static class Charts {
+
+      private final List<ChartVersions> charts;
+      private final ChartSearchIndex searchIndex;
+      /* the row of the first chart, once added to the model */
+      private int offset;
+      private ChartSearchIndex.Result searchResult = ChartSearchIndex.Result.ALL;
+
+      private Charts(List<ChartVersions> charts, ChartSearchIndex searchIndex) {
+        this.charts = charts;
+        this.searchIndex = searchIndex;
+      }
+    }
   }
 
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Finds which of a set of ascii substrings a text contains, ignoring case, in a single pass over the text.
+ * The substrings are compiled once into an Aho-Corasick automaton whose failure transitions are resolved upfront,
+ * so that matching is a table lookup per character and does not allocate.
+ */
+class SubstringMatcher {
+
+  private static final int ALPHABET = 128;
+  private static final int ROOT = 0;
+  private static final int NONE = -1;
+
+  /* the next state for each state and character */
+  private final int[][] transitions;
+  /* the lowest index of the substrings that end in each state */
+  private final int[] matches;
+
+  SubstringMatcher(List<String> substrings) {
+    List<int[]> trie = new ArrayList<>();
+    List<Integer> ends = new ArrayList<>();
+    trie.add(newState());
+    ends.add(NONE);
+    for (int index = 0; index < substrings.size(); index++) {
+      int state = ROOT;
+      for (char character : substrings.get(index).toCharArray()) {
+        if (character >= ALPHABET) {
+          throw new IllegalArgumentException("Substring " + substrings.get(index) + " is not ascii.");
+        }
+        int next = trie.get(state)[toLowerCase(character)];
+        if (next == NONE) {
+          next = trie.size();
+          trie.add(newState());
+          ends.add(NONE);
+          trie.get(state)[toLowerCase(character)] = next;
+        }
+        state = next;
+      }
+      if (ends.get(state) == NONE) {
+        ends.set(state, index);
+      }
+    }
+    this.transitions = trie.toArray(new int[0][]);
+    this.matches = ends.stream().mapToInt(Integer::intValue).toArray();
+    resolveFailures();
+  }
+
+  /**
+   * Turns the trie into a complete automaton: missing transitions follow the failure link, the state of the longest
+   * proper suffix that is in the trie, and each state also matches what its failure state matches.
+   */
+  private void resolveFailures() {
+    int[] failures = new int[transitions.length];
+    Queue<Integer> queue = new ArrayDeque<>();
+    for (int character = 0; character < ALPHABET; character++) {
+      int next = transitions[ROOT][character];
+      if (next == NONE) {
+        transitions[ROOT][character] = ROOT;
+      } else {
+        failures[next] = ROOT;
+        queue.add(next);
+      }
+    }
+    // breadth first, so that the failure states are resolved before the states that fail to them
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      matches[state] = lowest(matches[state], matches[failures[state]]);
+      for (int character = 0; character < ALPHABET; character++) {
+        int next = transitions[state][character];
+        if (next == NONE) {
+          transitions[state][character] = transitions[failures[state]][character];
+        } else {
+          failures[next] = transitions[failures[state]][character];
+          queue.add(next);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the lowest index of the substrings that the concatenation of the given texts contains.
+   *
+   * @param text the text to match, may be {@code null}
+   * @param continuation the text that follows, may be {@code null}
+   * @return the lowest index of the contained substrings or -1 if none is contained
+   */
+  int find(String text, String continuation) {
+    int textLength = text == null ? 0 : text.length();
+    int length = textLength + (continuation == null ? 0 : continuation.length());
+    int state = ROOT;
+    int found = NONE;
+    for (int i = 0; i < length
+      && found != 0; i++) {
+      char character = i < textLength ?
+        text.charAt(i)
+        : continuation.charAt(i - textLength);
+      state = character < ALPHABET ?
+        transitions[state][toLowerCase(character)]
+        : ROOT;
+      found = lowest(found, matches[state]);
+    }
+    return found;
+  }
+
+  private static int lowest(int index1, int index2) {
+    if (index1 == NONE) {
+      return index2;
+    } else if (index2 == NONE) {
+      return index1;
+    }
+    return Math.min(index1, index2);
+  }
+
+  private static int[] newState() {
+    int[] state = new int[ALPHABET];
+    Arrays.fill(state, NONE);
+    return state;
+  }
+
+  private static char toLowerCase(char character) {
+    if (character >= 'A'
+      && character <= 'Z') {
+      return (char) (character + ('a' - 'A'));
+    }
+    return character;
+  }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A version that is parsed once into its components so that it can be compared without being parsed again.
+ * Orders versions as {@link com.intellij.webcore.packaging.PackageVersionComparator} does, which parses both versions
+ * on each comparison: versions are compared case-insensitively, numbers are compared numerically, "pre", "preview" and
+ * "rc" sort before the final release, "dev" before those and any other qualifier after it. Zeros before a qualifier
+ * or at the end do not count.
+ */
+class VersionKey implements Comparable<VersionKey> {
+
+  private static final Pattern COMPONENT = Pattern.compile("\\d+|[a-z]+|\\.|-|.+");
+  private static final Map<String, String> SUBSTITUTES = Map.of(
+    "pre", "c",
+    "preview", "c",
+    "rc", "c",
+    "dev", "@");
+  private static final String ZERO = "00000000";
+  private static final String FINAL = "*final";
+  private static final String ANY = "**";
+
+  private final String version;
+  private final String[] components;
+
+  private VersionKey(String version, String[] components) {
+    this.version = version;
+    this.components = components;
+  }
+
+  static VersionKey parse(String version) {
+    List<String> components = new ArrayList<>();
+    if (version != null) {
+      Matcher matcher = COMPONENT.matcher(version.toLowerCase(Locale.ROOT));
+      while (matcher.find()) {
+        String component = toComparable(matcher.group());
+        if (component == null) {
+          continue;
+        }
+        if (isQualifier(component)) {
+          // zeros before a qualifier do not count: 1.0-rc1 == 1.0.0-rc1
+          removeTrailingZeros(components);
+        }
+        components.add(component);
+      }
+      // trailing zeros do not count: 1.0.0 == 1
+      removeTrailingZeros(components);
+      components.add(FINAL);
+    }
+    return new VersionKey(version, components.toArray(new String[0]));
+  }
+
+  private static void removeTrailingZeros(List<String> components) {
+    for (int i = components.size() - 1; i > 0
+      && ZERO.equals(components.get(i)); i--) {
+      components.remove(i);
+    }
+  }
+
+  private static boolean isQualifier(String component) {
+    return component.startsWith("*");
+  }
+
+  private static String toComparable(String component) {
+    String substitute = SUBSTITUTES.getOrDefault(component, component);
+    if (".".equals(substitute)
+      || "-".equals(substitute)) {
+      return null;
+    }
+    if (isNumber(substitute)) {
+      try {
+        return String.format("%08d", Long.parseLong(substitute));
+      } catch (NumberFormatException e) {
+        return substitute;
+      }
+    }
+    return "*" + substitute;
+  }
+
+  private static boolean isNumber(String component) {
+    for (int i = 0; i < component.length(); i++) {
+      char character = component.charAt(i);
+      if (character < '0'
+        || character > '9') {
+        return false;
+      }
+    }
+    return !component.isEmpty();
+  }
+
+  String getVersion() {
+    return version;
+  }
+
+  @Override
+  public int compareTo(VersionKey other) {
+    for (int i = 0; i < components.length
+      && i < other.components.length; i++) {
+      if (ANY.equals(components[i])
+        || ANY.equals(other.components[i])) {
+        return 0;
+      }
+      int result = components[i].compareTo(other.components[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return components.length - other.components.length;
+  }
+
+  @Override
+  public String toString() {
+    return version;
+  }
+}
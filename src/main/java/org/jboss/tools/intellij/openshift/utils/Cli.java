@@ -10,8 +10,10 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.utils;
 
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.util.messages.MessageBus;
+import com.intellij.util.messages.MessageBusConnection;
 import com.redhat.devtools.intellij.common.kubernetes.ClusterHelper;
 import com.redhat.devtools.intellij.common.kubernetes.ClusterInfo;
 import com.redhat.devtools.intellij.common.ssl.IDEATrustManager;
@@ -35,6 +37,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import javax.net.ssl.TrustManager;
@@ -60,16 +64,35 @@ public class Cli {
     this.client = kubernetesClientFactory.get();
   }
 
+  /**
+   * Returns the client of this cli to the {@link KubernetesClientPool} that it was acquired from.
+   */
+  protected void releaseClient() {
+    KubernetesClientPool.getInstance().release(client);
+  }
+
+  /**
+   * Updates the token of the client of this cli. The client is shared with the other clis for the same context,
+   * see {@link KubernetesClientPool#updateToken(KubernetesClient, String)}.
+   */
+  protected void updateClientToken(String token) {
+    KubernetesClientPool.getInstance().updateToken(client, token);
+  }
+
   public static final class KubernetesClientFactory implements Supplier<KubernetesClient> {
 
     @Override
     public KubernetesClient get() {
       String current = ConfigHelper.getCurrentContextName();
       Config config = Config.autoConfigure(current);
+      return KubernetesClientPool.getInstance().acquire(current, config);
+    }
+
+    static KubernetesClient create(Config config) {
       return new KubernetesClientBuilder().withConfig(config).withHttpClientBuilderConsumer(builder -> setSslContext(builder, config)).build();
     }
 
-    private void setSslContext(HttpClient.Builder builder, Config config) {
+    private static void setSslContext(HttpClient.Builder builder, Config config) {
       try {
         X509TrustManager externalTrustManager = new IDEATrustManager().configure(List.of(Arrays.stream(SSLUtils.trustManagers(config))
           .filter(X509ExtendedTrustManager.class::isInstance)
@@ -96,7 +119,13 @@ public class Cli {
 
   public static final class TelemetryReport {
 
+    private static final Set<KubernetesClient> REPORTED = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
     public void report(KubernetesClient client) {
+      if (!REPORTED.add(client)) {
+        // shared client, reported already
+        return;
+      }
       ApplicationManager.getApplication().executeOnPooledThread(() -> {
         TelemetryMessageBuilder.ActionMessage telemetry = instance().getBuilder().action(NAME_PREFIX_MISC + "login");
         try {
@@ -114,7 +143,15 @@ public class Cli {
     }
 
     public void subscribe(MessageBus bus, Map<String, String> envVars) {
-      bus.connect().subscribe(
+      subscribe(bus.connect(), envVars);
+    }
+
+    public void subscribe(MessageBus bus, Map<String, String> envVars, Disposable parent) {
+      subscribe(bus.connect(parent), envVars);
+    }
+
+    private void subscribe(MessageBusConnection connection, Map<String, String> envVars) {
+      connection.subscribe(
         TelemetryConfiguration.ConfigurationChangedListener.CONFIGURATION_CHANGED,
         onTelemetryConfigurationChanged(envVars)
       );
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A cache for the results of read-only cli invocations. Entries expire after the time to live of their {@link Key#getGroup()}
+ * and are explicitly invalidated by the invocations that modify what they reflect.
+ * Concurrent loads for the same key are shared, also for groups that aren't cached. Loads that started before an
+ * invalidation are not shared with the callers that arrive after it.
+ */
+public class CliCache {
+
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<String, Long> timesToLive = new ConcurrentHashMap<>();
+  private final LongSupplier clock;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong generation = new AtomicLong();
+  private final SingleFlight<Flight, Object> loads = new SingleFlight<>();
+
+  public CliCache() {
+    this(System::nanoTime);
+  }
+
+  protected CliCache(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Sets the time to live for the entries of the given group. Groups without time to live are not cached,
+   * their concurrent loads are only shared.
+   *
+   * @param group the group of entries
+   * @param duration the time to live
+   * @param unit the unit of the time to live
+   * @return this cache
+   */
+  public CliCache withTimeToLive(String group, long duration, TimeUnit unit) {
+    timesToLive.put(group, unit.toNanos(duration));
+    return this;
+  }
+
+  /**
+   * Returns the cached value for the given key or loads and caches it if there's none or it expired.
+   *
+   * @param key the key for the value
+   * @param loader the loader to use if no valid value is cached
+   * @return the cached or loaded value
+   * @throws IOException if the loader fails
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Key key, Loader<T> loader) throws IOException {
+    Long timeToLive = timesToLive.get(key.getGroup());
+    if (timeToLive == null) {
+      return (T) loads.execute(new Flight(key, generation.get()), loader);
+    }
+    long now = clock.getAsLong();
+    Entry entry = entries.get(key);
+    if (entry != null
+      && entry.isValid(now)) {
+      hits.incrementAndGet();
+      return (T) entry.value;
+    }
+    misses.incrementAndGet();
+    long loadedGeneration = generation.get();
+    // concurrent misses for the same key share a single load, unless it was started before an invalidation
+    T value = (T) loads.execute(new Flight(key, loadedGeneration), loader);
+    if (loadedGeneration == generation.get()) {
+      // dont cache values that were loaded while invalidating
+      entries.put(key, new Entry(value, now + timeToLive));
+    }
+    return value;
+  }
+
+  public void invalidate(Predicate<Key> filter) {
+    generation.incrementAndGet();
+    entries.keySet().removeIf(filter);
+  }
+
+  public void invalidateGroups(String... groups) {
+    List<String> toInvalidate = Arrays.asList(groups);
+    invalidate(key -> toInvalidate.contains(key.getGroup()));
+  }
+
+  public void invalidate(String group, String workingDirectory) {
+    invalidate(key -> key.getGroup().equals(group)
+      && Objects.equals(key.getWorkingDirectory(), workingDirectory));
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  @Override
+  public String toString() {
+    return "CliCache{entries=" + entries.size() + ", hits=" + hits.get() + ", misses=" + misses.get() + "}";
+  }
+
+  @FunctionalInterface
+  public interface Loader<T> {
+    T load() throws IOException;
+  }
+
+  public static final class Key {
+
+    private final String group;
+    private final List<String> arguments;
+    private final String workingDirectory;
+    private final String context;
+
+    public Key(String group, String workingDirectory, String context, String... arguments) {
+      this.group = group;
+      this.workingDirectory = workingDirectory;
+      this.context = context;
+      this.arguments = Arrays.asList(arguments);
+    }
+
+    public String getGroup() {
+      return group;
+    }
+
+    public String getWorkingDirectory() {
+      return workingDirectory;
+    }
+
+    public String getContext() {
+      return context;
+    }
+
+    public List<String> getArguments() {
+      return arguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return Objects.equals(group, key.group)
+        && Objects.equals(arguments, key.arguments)
+        && Objects.equals(workingDirectory, key.workingDirectory)
+        && Objects.equals(context, key.context);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(group, arguments, workingDirectory, context);
+    }
+  }
+
+  /**
+   * The key of a load, made of the cache key and the generation it was started in.
+   */
+  private static final class Flight {
+
+    private final Key key;
+    private final long generation;
+
+    private Flight(Key key, long generation) {
+      this.key = key;
+      this.generation = generation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Flight)) return false;
+      Flight flight = (Flight) o;
+      return generation == flight.generation
+        && key.equals(flight.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(key, generation);
+    }
+  }
+
+  private static final class Entry {
+
+    private final Object value;
+    private final long expiresAt;
+
+    private Entry(Object value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isValid(long now) {
+      return now - expiresAt < 0;
+    }
+  }
+}
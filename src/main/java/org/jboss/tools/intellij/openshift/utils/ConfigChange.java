@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import io.fabric8.kubernetes.api.model.AuthInfo;
+import io.fabric8.kubernetes.api.model.AuthInfoBuilder;
+import io.fabric8.kubernetes.api.model.Cluster;
+import io.fabric8.kubernetes.api.model.Config;
+import io.fabric8.kubernetes.api.model.Context;
+import io.fabric8.kubernetes.api.model.NamedAuthInfo;
+import io.fabric8.kubernetes.api.model.NamedCluster;
+import io.fabric8.kubernetes.api.model.NamedContext;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Classifies what changed between two versions of the kube config, as far as the current context is concerned.
+ * Tools like kubectx and the cloud clis rewrite the kube config often, ex. to refresh tokens, and most of these
+ * changes don't require new clients.
+ */
+public enum ConfigChange {
+
+  /**
+   * Nothing changed.
+   */
+  NONE,
+  /**
+   * Contexts, clusters or users other than the current ones changed.
+   */
+  UNRELATED,
+  /**
+   * The token of the current user was rotated.
+   */
+  TOKEN,
+  /**
+   * The namespace of the current context changed.
+   */
+  NAMESPACE,
+  /**
+   * The current context, its cluster or the credentials of its user changed (other than a token rotation).
+   */
+  CONTEXT;
+
+  /**
+   * Returns what changed between the given configs.
+   *
+   * @param previous the previous config
+   * @param current the current config
+   * @return what changed between the given configs
+   */
+  public static ConfigChange classify(Config previous, Config current) {
+    if (previous == null
+      || current == null) {
+      return previous == current ? NONE : CONTEXT;
+    }
+    if (!Objects.equals(previous.getCurrentContext(), current.getCurrentContext())) {
+      return CONTEXT;
+    }
+    Context previousContext = getCurrentContext(previous);
+    Context currentContext = getCurrentContext(current);
+    if (previousContext == null
+      || currentContext == null) {
+      return previousContext == currentContext ? compare(previous, current) : CONTEXT;
+    }
+    String previousCluster = previousContext.getCluster();
+    String currentCluster = currentContext.getCluster();
+    String previousUser = previousContext.getUser();
+    String currentUser = currentContext.getUser();
+    if (!Objects.equals(previousCluster, currentCluster)
+      || !Objects.equals(previousUser, currentUser)
+      || !Objects.equals(getCluster(previous, previousCluster), getCluster(current, currentCluster))) {
+      return CONTEXT;
+    }
+    boolean namespaceChanged = !Objects.equals(previousContext.getNamespace(), currentContext.getNamespace());
+    AuthInfo previousAuthInfo = getAuthInfo(previous, previousUser);
+    AuthInfo currentAuthInfo = getAuthInfo(current, currentUser);
+    boolean tokenChanged = false;
+    if (!Objects.equals(previousAuthInfo, currentAuthInfo)) {
+      if (!isTokenRotation(previousAuthInfo, currentAuthInfo)
+        || namespaceChanged) {
+        return CONTEXT;
+      }
+      tokenChanged = true;
+    }
+    if (namespaceChanged) {
+      return NAMESPACE;
+    } else if (tokenChanged) {
+      return TOKEN;
+    }
+    return compare(previous, current);
+  }
+
+  /**
+   * Returns the namespace of the current context in the given config.
+   *
+   * @param config the config to return the namespace of
+   * @return the namespace of the current context or {@code null}
+   */
+  public static String getNamespace(Config config) {
+    Context context = getCurrentContext(config);
+    return context == null ? null : context.getNamespace();
+  }
+
+  /**
+   * Returns the token of the user of the current context in the given config.
+   *
+   * @param config the config to return the token of
+   * @return the token of the current user or {@code null}
+   */
+  public static String getToken(Config config) {
+    Context context = getCurrentContext(config);
+    if (context == null) {
+      return null;
+    }
+    AuthInfo authInfo = getAuthInfo(config, context.getUser());
+    return authInfo == null ? null : authInfo.getToken();
+  }
+
+  private static ConfigChange compare(Config previous, Config current) {
+    return previous.equals(current) ? NONE : UNRELATED;
+  }
+
+  private static boolean isTokenRotation(AuthInfo previous, AuthInfo current) {
+    if (previous == null
+      || current == null
+      || previous.getToken() == null
+      || current.getToken() == null) {
+      // login or logout
+      return false;
+    }
+    return Objects.equals(
+      new AuthInfoBuilder(previous).withToken(null).build(),
+      new AuthInfoBuilder(current).withToken(null).build());
+  }
+
+  private static Context getCurrentContext(Config config) {
+    if (config == null) {
+      return null;
+    }
+    NamedContext namedContext = find(config.getContexts(), NamedContext::getName, config.getCurrentContext());
+    return namedContext == null ? null : namedContext.getContext();
+  }
+
+  private static Cluster getCluster(Config config, String name) {
+    NamedCluster namedCluster = find(config.getClusters(), NamedCluster::getName, name);
+    return namedCluster == null ? null : namedCluster.getCluster();
+  }
+
+  private static AuthInfo getAuthInfo(Config config, String name) {
+    NamedAuthInfo namedAuthInfo = find(config.getUsers(), NamedAuthInfo::getName, name);
+    return namedAuthInfo == null ? null : namedAuthInfo.getUser();
+  }
+
+  private static <T> T find(List<T> elements, Function<T, String> name, String value) {
+    if (elements == null
+      || value == null) {
+      return null;
+    }
+    return elements.stream()
+      .filter(element -> value.equals(name.apply(element)))
+      .findFirst()
+      .orElse(null);
+  }
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Shares {@link KubernetesClient}s among the clis that talk to the same context.
+ * Building a client is expensive (ssl context, trust manager, http connection pool and dispatcher threads) and
+ * the clis are recreated whenever the tree is refreshed. Clients are thus reference counted, kept for a while once
+ * they're not used any more, so that the next cli for the same context reuses them, and closed once they're evicted.
+ */
+public class KubernetesClientPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesClientPool.class);
+
+  static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+  private static KubernetesClientPool INSTANCE;
+
+  public static synchronized KubernetesClientPool getInstance() {
+    if (INSTANCE == null) {
+      INSTANCE = new KubernetesClientPool(Cli.KubernetesClientFactory::create, AppExecutorUtil.getAppScheduledExecutorService());
+    }
+    return INSTANCE;
+  }
+
+  private final Function<Config, KubernetesClient> clientFactory;
+  private final ScheduledExecutorService scheduler;
+  private final Map<List<Object>, Entry> entries = new HashMap<>();
+  private final Map<KubernetesClient, Entry> leases = new IdentityHashMap<>();
+
+  KubernetesClientPool(Function<Config, KubernetesClient> clientFactory, ScheduledExecutorService scheduler) {
+    this.clientFactory = clientFactory;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Returns a client for the given context and config. An existing client is returned if there's one for the same
+   * context, namespace, cluster and credentials. The namespace is part of the key since the clients apply the
+   * namespace of their configuration to requests, changing it would move the requests of the other holders.
+   * The token is shared per context instead: it is updated to the one in the given config, which is the current token of
+   * the context, for all holders of the client.
+   * Each client that is acquired has to be {@link #release(KubernetesClient) released} once it's not used any more.
+   *
+   * @param context the name of the context
+   * @param config the config for the context
+   * @return the client for the given context
+   */
+  public synchronized KubernetesClient acquire(String context, Config config) {
+    List<Object> key = getKey(context, config);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      evictIdle(context);
+      entry = new Entry(key, context, clientFactory.apply(config));
+      entries.put(key, entry);
+      leases.put(entry.client, entry);
+      LOGGER.debug("Created client for context {}, {} clients.", context, entries.size());
+    } else {
+      entry.cancelEviction();
+      entry.client.getConfiguration().setOauthToken(config.getOauthToken());
+    }
+    entry.references++;
+    return entry.client;
+  }
+
+  /**
+   * Updates the token of the given client. The token is shared per context, it applies to the requests of all holders
+   * of the client, which all talk to the same context.
+   *
+   * @param client the client to update
+   * @param token the new token of the context
+   */
+  public synchronized void updateToken(KubernetesClient client, String token) {
+    client.getConfiguration().setOauthToken(token);
+  }
+
+  /**
+   * Releases the given client. The client is closed once it wasn't acquired again for a while.
+   * Clients that were not acquired from this pool are ignored.
+   *
+   * @param client the client to release
+   * @return {@code true} if the client was acquired from this pool
+   */
+  public synchronized boolean release(KubernetesClient client) {
+    Entry entry = leases.get(client);
+    if (entry == null) {
+      return false;
+    }
+    if (entry.references > 0
+      && --entry.references == 0) {
+      entry.eviction = scheduler.schedule(() -> evict(entry), IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of clients that are currently open.
+   *
+   * @return the number of open clients
+   */
+  public synchronized int getClientCount() {
+    return entries.size();
+  }
+
+  private synchronized void evict(Entry entry) {
+    if (entry.references > 0
+      || entries.get(entry.key) != entry) {
+      return;
+    }
+    remove(entry);
+  }
+
+  /**
+   * Closes the unused clients for the given context right away. They were built for a former cluster or credentials.
+   */
+  private void evictIdle(String context) {
+    for (Entry entry : new ArrayList<>(entries.values())) {
+      if (entry.references == 0
+        && Objects.equals(context, entry.context)) {
+        entry.cancelEviction();
+        remove(entry);
+      }
+    }
+  }
+
+  private void remove(Entry entry) {
+    entries.remove(entry.key);
+    leases.remove(entry.client);
+    try {
+      entry.client.close();
+    } catch (RuntimeException e) {
+      LOGGER.debug("Could not close client for context " + entry.context, e);
+    }
+    LOGGER.debug("Closed client for context {}, {} clients.", entry.context, entries.size());
+  }
+
+  private static List<Object> getKey(String context, Config config) {
+    return Arrays.asList(
+      context,
+      config.getNamespace(),
+      config.getMasterUrl(),
+      config.getUsername(),
+      config.getPassword(),
+      config.getCaCertFile(),
+      config.getCaCertData(),
+      config.getClientCertFile(),
+      config.getClientCertData(),
+      config.getClientKeyFile(),
+      config.getClientKeyData(),
+      config.isTrustCerts(),
+      config.isDisableHostnameVerification());
+  }
+
+  private static final class Entry {
+
+    private final List<Object> key;
+    private final String context;
+    private final KubernetesClient client;
+    private int references;
+    private ScheduledFuture<?> eviction;
+
+    private Entry(List<Object> key, String context, KubernetesClient client) {
+      this.key = key;
+      this.context = context;
+      this.client = client;
+    }
+
+    private void cancelEviction() {
+      if (eviction != null) {
+        eviction.cancel(false);
+        this.eviction = null;
+      }
+    }
+  }
+}
@@ -14,17 +14,23 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdNodeBasedDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import java.util.List;
 
 public class Serialization {
 
   private static final ObjectMapper defaultMapper = new ObjectMapper(new JsonFactory());
+  private static final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
 
   public static ObjectMapper json() {
     return defaultMapper;
   }
 
+  public static ObjectMapper yaml() {
+    return yamlMapper;
+  }
+
   private Serialization() {}
 
   public static ObjectMapper configure(final StdNodeBasedDeserializer<? extends List<?>> deserializer) {
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Collapses concurrent identical cli invocations into a single one. The first caller for a given key runs the
+ * invocation, callers that arrive while it is still running wait for it and get the same result or exception.
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Runs the given loader unless an invocation with the same key is already running, in which case its result is
+   * awaited and returned.
+   *
+   * @param key the key that identifies the invocation
+   * @param loader the invocation to run
+   * @return the result of the invocation
+   * @throws IOException if the invocation fails
+   */
+  public V execute(K key, CliCache.Loader<? extends V> loader) throws IOException {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+    if (running != null) {
+      return await(running);
+    }
+    try {
+      V value = loader.load();
+      future.complete(value);
+      return value;
+    } catch (IOException | RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  private V await(CompletableFuture<V> running) throws IOException {
+    try {
+      return running.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      } else if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * The key for a cli invocation, made of the command, working directory, env and arguments.
+   */
+  public static final class Key {
+
+    private final String command;
+    private final String workingDirectory;
+    private final Map<String, String> envs;
+    private final List<String> arguments;
+
+    public Key(String command, File workingDirectory, Map<String, String> envs, String... arguments) {
+      this.command = command;
+      this.workingDirectory = workingDirectory == null ? null : workingDirectory.getAbsolutePath();
+      // copy, the given env may be modified while the invocation is running
+      this.envs = envs == null ? Map.of() : new HashMap<>(envs);
+      this.arguments = Arrays.asList(arguments.clone());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return Objects.equals(command, key.command)
+        && Objects.equals(workingDirectory, key.workingDirectory)
+        && Objects.equals(envs, key.envs)
+        && Objects.equals(arguments, key.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(command, workingDirectory, envs, arguments);
+    }
+  }
+}
@@ -12,6 +12,8 @@ package org.jboss.tools.intellij.openshift.utils.helm;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -19,14 +21,20 @@ public class Chart {
   private String name;
   private String version;
   private String description;
+  private List<String> keywords;
 
   public Chart() {
   }
 
   public Chart(String name, String version, String description) {
+    this(name, version, description, null);
+  }
+
+  public Chart(String name, String version, String description, List<String> keywords) {
     this.name = name;
     this.version = version;
     this.description = description;
+    this.keywords = keywords;
   }
 
   public String getName() {
@@ -41,6 +49,10 @@ public class Chart {
     return description;
   }
 
+  public List<String> getKeywords() {
+    return keywords == null ? Collections.emptyList() : keywords;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -48,12 +60,13 @@ public class Chart {
     Chart chart = (Chart) o;
     return Objects.equals(name, chart.name)
       && Objects.equals(version, chart.version)
-      && Objects.equals(description, chart.description);
+      && Objects.equals(description, chart.description)
+      && getKeywords().equals(chart.getKeywords());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, version, description);
+    return Objects.hash(name, version, description, getKeywords());
   }
 
 }
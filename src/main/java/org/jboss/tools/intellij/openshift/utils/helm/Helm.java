@@ -22,7 +22,7 @@ public interface Helm {
 
   List<HelmRepository> listRepos() throws IOException;
 
-  List<Chart> search() throws IOException;
+  List<Chart> search(HelmRepository repository) throws IOException;
 
   List<Chart> search(String regex) throws IOException;
 
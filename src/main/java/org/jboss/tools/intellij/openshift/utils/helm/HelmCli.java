@@ -14,6 +14,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,6 +25,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jboss.tools.intellij.openshift.telemetry.TelemetryService;
 import org.jboss.tools.intellij.openshift.utils.Serialization;
+import org.jboss.tools.intellij.openshift.utils.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,8 +36,10 @@ import static org.jboss.tools.intellij.openshift.telemetry.TelemetryService.asyn
 public class HelmCli implements Helm {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HelmCli.class);
+    private static final SingleFlight<SingleFlight.Key, String> EXECUTIONS = new SingleFlight<>();
 
     private final String command;
+    private HelmRepositoryIndex repositoryIndex;
 
     public HelmCli(String command) {
         this.command = command;
@@ -89,7 +93,7 @@ public class HelmCli implements Helm {
           TelemetryService.NAME_PREFIX_MISC + "helm-list repo");
         try {
             LOGGER.info("Listing repos.");
-            String repos = execute(command, Collections.emptyMap(), "repo", "list", "-o=json");
+            String repos = executeReadOnly(command, Collections.emptyMap(), "repo", "list", "-o=json");
             asyncSend(telemetry.success());
             return Serialization.json().readValue(repos, new TypeReference<>() {});
         } catch (IOException e) {
@@ -99,12 +103,17 @@ public class HelmCli implements Helm {
     }
 
     @Override
-    public List<Chart> search() throws IOException {
+    public List<Chart> search(HelmRepository repository) throws IOException {
         ActionMessage telemetry = TelemetryService.instance().getBuilder().action(
-          TelemetryService.NAME_PREFIX_MISC + "helm-list charts");
+          TelemetryService.NAME_PREFIX_MISC + "helm-list repo charts");
         try {
-            LOGGER.info("Listing all charts.");
-            String charts = execute(command, Collections.emptyMap(), "search", "repo", "-l", "-o=json");
+            LOGGER.info("Listing all charts in repo {}.", repository.getName());
+            List<Chart> indexed = getIndexedCharts(repository.getName());
+            if (indexed != null) {
+                asyncSend(telemetry.success());
+                return indexed;
+            }
+            String charts = executeReadOnly(command, Collections.emptyMap(), "search", "repo", "-l", "-r", "^" + quoteRegex(repository.getName()) + "/", "-o=json");
             asyncSend(telemetry.success());
             return Serialization.json().readValue(charts, new TypeReference<>() {
             });
@@ -114,13 +123,44 @@ public class HelmCli implements Helm {
         }
     }
 
+    /**
+     * Returns the charts in the index file that helm cached for the given repository.
+     *
+     * @param repository the repository to return the charts of
+     * @return the charts or {@code null} if they could not be read from the index file
+     */
+    private List<Chart> getIndexedCharts(String repository) {
+        try {
+            HelmRepositoryIndex index = getRepositoryIndex();
+            if (index == null) {
+                return null;
+            }
+            return index.getCharts(repository);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Could not read the helm repository index files, searching charts with helm.", e);
+            return null;
+        }
+    }
+
+    private synchronized HelmRepositoryIndex getRepositoryIndex() throws IOException {
+        if (repositoryIndex == null) {
+            String cache = env().get(HelmEnv.HELM_REPOSITORY_CACHE);
+            if (cache == null
+              || cache.isEmpty()) {
+                return null;
+            }
+            this.repositoryIndex = new HelmRepositoryIndex(Paths.get(cache));
+        }
+        return repositoryIndex;
+    }
+
     @Override
     public List<Chart> search(String regex) throws IOException {
         ActionMessage telemetry = TelemetryService.instance().getBuilder().action(
           TelemetryService.NAME_PREFIX_MISC + "helm-search charts");
         try {
             LOGGER.info("Searching all charts that match {}.", regex);
-            String charts = execute(command, Collections.emptyMap(), "search", "repo", "-r", regex, "-o=json");
+            String charts = executeReadOnly(command, Collections.emptyMap(), "search", "repo", "-r", regex, "-o=json");
             asyncSend(telemetry.success());
             return Serialization.json().readValue(charts, new TypeReference<>() {});
         } catch (IOException e) {
@@ -154,7 +194,7 @@ public class HelmCli implements Helm {
           TelemetryService.NAME_PREFIX_MISC + "helm-list releases");
         try {
             LOGGER.info("listing all releases.");
-            String charts = execute(command, Collections.emptyMap(), "list", "-o=json");
+            String charts = executeReadOnly(command, Collections.emptyMap(), "list", "-o=json");
             asyncSend(telemetry.success());
             return Serialization.json().readValue(charts, new TypeReference<>() {});
         } catch (IOException e) {
@@ -177,7 +217,7 @@ public class HelmCli implements Helm {
 
     @Override
     public HelmEnv env() throws IOException {
-        String result = execute(command, Collections.emptyMap(), "env");
+        String result = executeReadOnly(command, Collections.emptyMap(), "env");
         /*
          * HELM_NAMESPACE="default"
          * HELM_KUBECONTEXT=""
@@ -199,15 +239,37 @@ public class HelmCli implements Helm {
 
     @Override
     public String showValues(String chart) throws IOException {
-        return execute(command, Collections.emptyMap(), "show", "values", chart);
+        return executeReadOnly(command, Collections.emptyMap(), "show", "values", chart);
+    }
+
+    /**
+     * Escapes the regular expression meta characters in the given text, as go's regexp.QuoteMeta does.
+     */
+    private static String quoteRegex(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char character : text.toCharArray()) {
+            if ("\\.+*?()|[]{}^$".indexOf(character) >= 0) {
+                builder.append('\\');
+            }
+            builder.append(character);
+        }
+        return builder.toString();
     }
 
     private static String execute(String command, Map<String, String> envs, String... args) throws IOException {
-        File workingDirectory = new File(HOME_FOLDER);
-        ExecHelper.ExecResult output = ExecHelper.executeWithResult(command, true, workingDirectory, envs, args);
+        ExecHelper.ExecResult output = ExecHelper.executeWithResult(command, true, new File(HOME_FOLDER), envs, args);
         return output.getStdOut();
     }
 
+    /**
+     * Executes the given helm command that does not change anything. Concurrent identical invocations share a single
+     * execution. Commands that change a repository or a release must be run with {@link #execute(String, Map, String...)}.
+     */
+    private static String executeReadOnly(String command, Map<String, String> envs, String... args) throws IOException {
+        return EXECUTIONS.execute(new SingleFlight.Key(command, new File(HOME_FOLDER), envs, args),
+          () -> execute(command, envs, args));
+    }
+
     public static class HelmEnv {
 
         public static final String HELM_BIN = "HELM_BIN";
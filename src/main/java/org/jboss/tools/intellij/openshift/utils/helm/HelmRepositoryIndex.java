@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.helm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jboss.tools.intellij.openshift.utils.Serialization;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lists the charts of a repository out of the index file that helm caches for it
+ * ({@code HELM_REPOSITORY_CACHE/<repository>-index.yaml}), instead of running {@code helm search repo -l}.
+ * The index files are streamed and only the name, version, description and keywords of each chart version are kept.
+ * The charts of a repository are parsed again only once its index file changed.
+ * Like {@code helm search repo} without {@code --devel}, pre-release versions are skipped.
+ */
+class HelmRepositoryIndex {
+
+  private static final String ENTRIES_FIELD = "entries";
+  private static final String VERSION_FIELD = "version";
+  private static final String DESCRIPTION_FIELD = "description";
+  private static final String KEYWORDS_FIELD = "keywords";
+  private static final String INDEX_SUFFIX = "-index.yaml";
+
+  private final Path repositoryCache;
+  private final Map<Path, Snapshot<List<Chart>>> charts = new ConcurrentHashMap<>();
+
+  HelmRepositoryIndex(Path repositoryCache) {
+    this.repositoryCache = repositoryCache;
+  }
+
+  /**
+   * Returns all versions of all charts in the given repository, named {@code <repository>/<chart>}.
+   *
+   * @param repository the name of the repository
+   * @return the charts or {@code null} if the index of the repository was not downloaded yet
+   * @throws IOException if the index cannot be read
+   */
+  List<Chart> getCharts(String repository) throws IOException {
+    Path index = repositoryCache.resolve(repository + INDEX_SUFFIX);
+    if (!Files.isRegularFile(index)) {
+      return null;
+    }
+    return get(charts, index, file -> readCharts(repository, file));
+  }
+
+  private static <T> T get(Map<Path, Snapshot<T>> snapshots, Path file, Reader<T> reader) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    long modified = attributes.lastModifiedTime().toMillis();
+    long size = attributes.size();
+    Snapshot<T> snapshot = snapshots.get(file);
+    if (snapshot == null
+      || snapshot.modified != modified
+      || snapshot.size != size) {
+      snapshot = new Snapshot<>(modified, size, reader.read(file));
+      snapshots.put(file, snapshot);
+    }
+    return snapshot.value;
+  }
+
+  static List<Chart> readCharts(String repository, Path file) throws IOException {
+    List<Chart> charts = new ArrayList<>();
+    try (JsonParser parser = Serialization.yaml().getFactory().createParser(file.toFile())) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return Collections.emptyList();
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if (ENTRIES_FIELD.equals(field)
+          && value == JsonToken.START_OBJECT) {
+          readEntries(repository, parser, charts);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return Collections.unmodifiableList(charts);
+  }
+
+  private static void readEntries(String repository, JsonParser parser, List<Chart> charts) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = repository + '/' + parser.currentName();
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        parser.skipChildren();
+        continue;
+      }
+      // versions of a chart mostly share their description and keywords
+      Map<String, String> descriptions = new HashMap<>();
+      Map<List<String>, List<String>> keywordLists = new HashMap<>();
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        String version = null;
+        String description = null;
+        List<String> keywords = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.currentName();
+          JsonToken value = parser.nextToken();
+          if (VERSION_FIELD.equals(field)
+            && value.isScalarValue()) {
+            version = parser.getValueAsString();
+          } else if (DESCRIPTION_FIELD.equals(field)
+            && value.isScalarValue()) {
+            description = parser.getValueAsString();
+          } else if (KEYWORDS_FIELD.equals(field)
+            && value == JsonToken.START_ARRAY) {
+            keywords = readKeywords(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        if (version != null
+          && !isPreRelease(version)) {
+          if (description != null) {
+            description = descriptions.computeIfAbsent(description, key -> key);
+          }
+          if (keywords != null) {
+            keywords = keywordLists.computeIfAbsent(keywords, key -> key);
+          }
+          charts.add(new Chart(name, version, description, keywords));
+        }
+      }
+    }
+  }
+
+  private static List<String> readKeywords(JsonParser parser) throws IOException {
+    List<String> keywords = new ArrayList<>();
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY
+      && token != null) {
+      if (token.isScalarValue()) {
+        keywords.add(parser.getValueAsString());
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return Collections.unmodifiableList(keywords);
+  }
+
+  private static boolean isPreRelease(String version) {
+    int build = version.indexOf('+');
+    String withoutBuild = build < 0 ? version : version.substring(0, build);
+    return withoutBuild.indexOf('-') >= 0;
+  }
+
+  @FunctionalInterface
+  private interface Reader<T> {
+    T read(Path file) throws IOException;
+  }
+
+  private static final class Snapshot<T> {
+
+    private final long modified;
+    private final long size;
+    private final T value;
+
+    private Snapshot(long modified, long size, T value) {
+      this.modified = modified;
+      this.size = size;
+      this.value = value;
+    }
+  }
+}
@@ -10,13 +10,17 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.utils.oc;
 
+import com.intellij.openapi.Disposable;
+
 import java.io.IOException;
 import java.net.URL;
 
-public interface Oc {
+public interface Oc extends Disposable {
 
   void login(String url, String userName, char[] password, char[] token) throws IOException;
 
   URL getMasterUrl();
 
+  void updateToken(String token);
+
 }
@@ -53,10 +53,15 @@ public class OcCli extends Cli implements Oc {
 
   private void initTelemetry(TelemetryReport telemetryReport, MessageBus bus) {
     telemetryReport.addTelemetryVars(envVars);
-    telemetryReport.subscribe(bus, envVars);
+    telemetryReport.subscribe(bus, envVars, this);
     telemetryReport.report(client);
   }
 
+  @Override
+  public void dispose() {
+    releaseClient();
+  }
+
 
   private static void execute(@NotNull File workingDirectory, String command, Map<String, String> envs, String... args) throws IOException {
     ExecHelper.executeWithResult(command, true, workingDirectory, envs, args);
@@ -75,4 +80,10 @@ public class OcCli extends Cli implements Oc {
   public URL getMasterUrl() {
     return client.getMasterUrl();
   }
+
+  @Override
+  public void updateToken(String token) {
+    // the token of the configuration is applied to each request
+    updateClientToken(token);
+  }
 }
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import org.jboss.tools.intellij.openshift.utils.Serialization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A disk cache for the annotated schemas of custom resources.
+ * Schemas are keyed by cluster, CRD name, version and the resourceVersion of the CRD, so that a cached schema is
+ * revalidated with a metadata-only request for the CRD instead of loading the openapi document again.
+ * A schema that was revalidated is not revalidated again before a time-to-live expired.
+ * Copies of the cached schemas are returned, so that callers can modify them.
+ */
+public class CRDSchemaCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CRDSchemaCache.class);
+
+  private static final String CRDS_PATH = "/apis/apiextensions.k8s.io/v1/customresourcedefinitions/";
+  private static final String PARTIAL_METADATA = "application/json;as=PartialObjectMetadata;g=meta.k8s.io;v=v1,application/json";
+  private static final String METADATA_FIELD = "metadata";
+  private static final String RESOURCE_VERSION_FIELD = "resourceVersion";
+  private static final String EXTENSION = ".json";
+  static final long TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(1);
+
+  private final KubernetesClient client;
+  private final Path directory;
+  private final LongSupplier clock;
+  private final Map<String, CachedSchema> schemas = new ConcurrentHashMap<>();
+
+  public CRDSchemaCache(KubernetesClient client, Path directory) {
+    this(client, directory, System::currentTimeMillis);
+  }
+
+  CRDSchemaCache(KubernetesClient client, Path directory, LongSupplier clock) {
+    this.client = client;
+    this.directory = directory;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the cached schema for the given CRD or loads and caches it if there's none for its current resourceVersion.
+   *
+   * @param name the name of the CRD (ex. kafkas.kafka.strimzi.io)
+   * @param version the version of the CRD
+   * @param descriptors the descriptors that the schema was annotated with
+   * @param loader the loader for the annotated schema
+   * @return a copy of the annotated schema
+   */
+  public ObjectNode get(String name, String version, List<OperatorCRDSpecDescriptor> descriptors, Supplier<ObjectNode> loader) {
+    String prefix = Hashes.toFileName(client.getMasterUrl() + "|" + name + "|" + version);
+    String annotations = toString(descriptors);
+    CachedSchema cached = schemas.get(prefix);
+    if (cached != null
+      && clock.getAsLong() < cached.validUntil
+      && cached.key.equals(toKey(prefix, cached.resourceVersion, annotations))) {
+      return cached.schema.deepCopy();
+    }
+    String resourceVersion = getResourceVersion(name);
+    if (resourceVersion == null) {
+      return loader.get();
+    }
+    String key = toKey(prefix, resourceVersion, annotations);
+    ObjectNode schema = null;
+    if (cached != null
+      && cached.key.equals(key)) {
+      schema = cached.schema;
+    }
+    if (schema == null) {
+      schema = read(key);
+    }
+    if (schema == null) {
+      schema = loader.get();
+      if (schema != null) {
+        write(prefix, key, schema);
+      }
+    }
+    if (schema == null) {
+      return null;
+    }
+    schemas.put(prefix, new CachedSchema(key, resourceVersion, schema, clock.getAsLong() + TIME_TO_LIVE));
+    return schema.deepCopy();
+  }
+
+  /**
+   * Forgets the schemas that are kept in memory. Schemas on disk are kept, they're revalidated when requested next.
+   */
+  public void invalidate() {
+    schemas.clear();
+  }
+
+  private static String toKey(String prefix, String resourceVersion, String annotations) {
+    return prefix + "-" + Hashes.toFileName(resourceVersion + "|" + annotations);
+  }
+
+  private String getResourceVersion(String name) {
+    try {
+      HttpRequest request = client.getHttpClient().newHttpRequestBuilder()
+        .url(new URL(client.getMasterUrl(), CRDS_PATH + name))
+        .header("Accept", PARTIAL_METADATA)
+        .build();
+      HttpResponse<InputStream> response = client.getHttpClient().sendAsync(request, InputStream.class).get();
+      try (InputStream body = response.body()) {
+        if (!response.isSuccessful()) {
+          return null;
+        }
+        JsonNode resourceVersion = Serialization.json().readTree(body).path(METADATA_FIELD).path(RESOURCE_VERSION_FIELD);
+        return resourceVersion.isMissingNode() ? null : resourceVersion.asText();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (IOException | ExecutionException e) {
+      LOGGER.debug("Could not get resource version of crd " + name, e);
+      return null;
+    }
+  }
+
+  private ObjectNode read(String key) {
+    Path file = directory.resolve(key + EXTENSION);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      JsonNode node = Serialization.json().readTree(file.toFile());
+      return node instanceof ObjectNode objectNode ? objectNode : null;
+    } catch (IOException e) {
+      LOGGER.debug("Could not read cached schema " + file, e);
+      return null;
+    }
+  }
+
+  private void write(String prefix, String key, ObjectNode schema) {
+    try {
+      Files.createDirectories(directory);
+      deleteOutdated(prefix);
+      Path temp = Files.createTempFile(directory, key, ".tmp");
+      Serialization.json().writeValue(temp.toFile(), schema);
+      Files.move(temp, directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.debug("Could not cache schema " + key, e);
+    }
+  }
+
+  private void deleteOutdated(String prefix) throws IOException {
+    try (DirectoryStream<Path> outdated = Files.newDirectoryStream(directory, prefix + "-*" + EXTENSION)) {
+      for (Path file : outdated) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  private static String toString(List<OperatorCRDSpecDescriptor> descriptors) {
+    StringBuilder builder = new StringBuilder();
+    if (descriptors != null) {
+      for (OperatorCRDSpecDescriptor descriptor : descriptors) {
+        builder.append(descriptor.getPath()).append('|')
+          .append(descriptor.getDisplayName()).append('|')
+          .append(descriptor.getDescription()).append('|')
+          .append(descriptor.getDescriptors()).append('\n');
+      }
+    }
+    return builder.toString();
+  }
+
+  private static final class CachedSchema {
+
+    private final String key;
+    private final String resourceVersion;
+    private final ObjectNode schema;
+    private final long validUntil;
+
+    private CachedSchema(String key, String resourceVersion, ObjectNode schema, long validUntil) {
+      this.key = key;
+      this.resourceVersion = resourceVersion;
+      this.schema = schema;
+      this.validUntil = validUntil;
+    }
+  }
+}
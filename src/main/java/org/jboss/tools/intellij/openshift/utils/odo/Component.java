@@ -93,12 +93,12 @@ public interface Component {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             ComponentImpl component = (ComponentImpl) o;
-            return Objects.equals(name, component.name) && Objects.equals(state, component.state) && Objects.equals(path, component.path) && Objects.equals(info, component.info);
+            return Objects.equals(name, component.name) && Objects.equals(managedBy, component.managedBy) && Objects.equals(state, component.state) && Objects.equals(path, component.path) && Objects.equals(info, component.info);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(name, state, path, info);
+            return Objects.hash(name, managedBy, state, path, info);
         }
     }
 
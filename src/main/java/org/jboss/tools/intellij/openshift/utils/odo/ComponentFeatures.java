@@ -25,6 +25,10 @@ public class ComponentFeatures {
 
   public ComponentFeatures() {}
 
+  public ComponentFeatures(ComponentFeatures features) {
+    this.features.addAll(features.features);
+  }
+
   public void addFeature(ComponentFeature feature) {
     features.add(feature);
   }
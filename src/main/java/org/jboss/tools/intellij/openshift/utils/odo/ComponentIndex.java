@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import org.jboss.tools.intellij.openshift.KubernetesLabels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * An in-memory index of the odo components in a namespace. It is fed by informers on the deployments and services
+ * that carry the {@link KubernetesLabels#COMPONENT_NAME_LABEL} label and are managed by odo.
+ * The informers for a namespace are started lazily, the first time its components are requested, and stopped once
+ * another namespace is viewed. If they cannot be started, they are not tried again before a back-off expired.
+ * Changes are coalesced and reported per namespace to the listener given at construction.
+ */
+public class ComponentIndex implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComponentIndex.class);
+
+  private static final long NOTIFICATION_DELAY = 500;
+  static final long INITIAL_BACKOFF = TimeUnit.SECONDS.toMillis(30);
+  static final long MAX_BACKOFF = TimeUnit.MINUTES.toMillis(10);
+  private static final String ODO_MANAGER = "odo";
+  private static final String DEV_MODE = "Dev";
+  private static final String DEPLOY_MODE = "Deploy";
+
+  private final List<InformerFactory> informerFactories;
+  private final ScheduledExecutorService scheduler;
+  private final Consumer<String> onChange;
+  private final LongSupplier clock;
+  private final Map<String, NamespaceInformers> namespaces = new ConcurrentHashMap<>();
+  private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+
+  public ComponentIndex(KubernetesClient client, ScheduledExecutorService scheduler, Consumer<String> onChange) {
+    this(List.of(
+        (namespace, handler) -> client.apps().deployments()
+          .inNamespace(namespace)
+          .withLabel(KubernetesLabels.COMPONENT_NAME_LABEL)
+          .withLabel(KubernetesLabels.MANAGED_BY_LABEL, ODO_MANAGER)
+          .inform(handler),
+        (namespace, handler) -> client.services()
+          .inNamespace(namespace)
+          .withLabel(KubernetesLabels.COMPONENT_NAME_LABEL)
+          .withLabel(KubernetesLabels.MANAGED_BY_LABEL, ODO_MANAGER)
+          .inform(handler)),
+      scheduler,
+      onChange,
+      System::currentTimeMillis);
+  }
+
+  ComponentIndex(List<InformerFactory> informerFactories, ScheduledExecutorService scheduler, Consumer<String> onChange, LongSupplier clock) {
+    this.informerFactories = informerFactories;
+    this.scheduler = scheduler;
+    this.onChange = onChange;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the components in the given namespace. Starts watching the namespace if it isn't watched yet.
+   *
+   * @param namespace the namespace to return the components for
+   * @return a new, modifiable list of the components in the given namespace
+   * @throws KubernetesClientException if the namespace cannot be listed nor watched
+   */
+  public List<Component> getComponents(String namespace) {
+    NamespaceInformers informers = namespaces.get(namespace);
+    if (informers == null) {
+      // started outside of the map, starting blocks until the initial list was received
+      informers = inform(namespace);
+    }
+    return informers.toComponents();
+  }
+
+  private NamespaceInformers inform(String namespace) {
+    Failure failure = failures.get(namespace);
+    if (failure != null
+      && failure.isBackingOff(clock.getAsLong())) {
+      throw failure.error;
+    }
+    NamespaceInformers informers = new NamespaceInformers(namespace);
+    try {
+      informers.start();
+    } catch (KubernetesClientException e) {
+      informers.close();
+      failures.put(namespace, Failure.after(failure, e, clock.getAsLong()));
+      throw e;
+    }
+    failures.remove(namespace);
+    NamespaceInformers existing = namespaces.putIfAbsent(namespace, informers);
+    if (existing != null) {
+      // started concurrently
+      informers.close();
+      return existing;
+    }
+    return informers;
+  }
+
+  /**
+   * Stops watching all namespaces but the given one.
+   *
+   * @param namespace the namespace to keep watching
+   */
+  public void retain(String namespace) {
+    namespaces.entrySet().removeIf(entry -> {
+      if (entry.getKey().equals(namespace)) {
+        return false;
+      }
+      entry.getValue().close();
+      return true;
+    });
+  }
+
+  /**
+   * Stops watching all namespaces and forgets the namespaces that could not be watched.
+   */
+  public void invalidate() {
+    close();
+    failures.clear();
+  }
+
+  @Override
+  public void close() {
+    namespaces.values().forEach(NamespaceInformers::close);
+    namespaces.clear();
+  }
+
+  private class NamespaceInformers implements ResourceEventHandler<HasMetadata> {
+
+    private final String namespace;
+    private final AtomicBoolean notificationPending = new AtomicBoolean();
+    private volatile boolean synced = false;
+    private final List<SharedIndexInformer<? extends HasMetadata>> informers = new ArrayList<>();
+
+    private NamespaceInformers(String namespace) {
+      this.namespace = namespace;
+    }
+
+    private void start() {
+      // inform() blocks until the initial list was received
+      for (InformerFactory factory : informerFactories) {
+        informers.add(factory.inform(namespace, this));
+      }
+      this.synced = true;
+    }
+
+    private List<Component> toComponents() {
+      Map<String, ComponentBuilder> builders = new LinkedHashMap<>();
+      informers.forEach(informer -> addAll(informer, builders));
+      List<Component> components = new ArrayList<>(builders.size());
+      builders.values().forEach(builder -> components.add(builder.build()));
+      return components;
+    }
+
+    private void addAll(SharedIndexInformer<? extends HasMetadata> informer, Map<String, ComponentBuilder> builders) {
+      if (informer == null) {
+        return;
+      }
+      for (HasMetadata resource : informer.getStore().list()) {
+        ObjectMeta metadata = resource.getMetadata();
+        if (metadata == null
+          || metadata.getLabels() == null) {
+          continue;
+        }
+        String name = metadata.getLabels().get(KubernetesLabels.COMPONENT_NAME_LABEL);
+        if (name != null) {
+          builders.computeIfAbsent(name, ComponentBuilder::new).add(metadata);
+        }
+      }
+    }
+
+    @Override
+    public void onAdd(HasMetadata resource) {
+      changed();
+    }
+
+    @Override
+    public void onUpdate(HasMetadata oldResource, HasMetadata newResource) {
+      if (!isSameComponentState(oldResource, newResource)) {
+        changed();
+      }
+    }
+
+    @Override
+    public void onDelete(HasMetadata resource, boolean deletedFinalStateUnknown) {
+      changed();
+    }
+
+    private boolean isSameComponentState(HasMetadata oldResource, HasMetadata newResource) {
+      ObjectMeta oldMetadata = oldResource.getMetadata();
+      ObjectMeta newMetadata = newResource.getMetadata();
+      return oldMetadata != null
+        && newMetadata != null
+        && Objects.equals(oldMetadata.getLabels(), newMetadata.getLabels())
+        && Objects.equals(oldMetadata.getAnnotations(), newMetadata.getAnnotations());
+    }
+
+    private void changed() {
+      if (!synced
+        || onChange == null
+        || !notificationPending.compareAndSet(false, true)) {
+        return;
+      }
+      scheduler.schedule(() -> {
+        notificationPending.set(false);
+        try {
+          onChange.accept(namespace);
+        } catch (RuntimeException e) {
+          LOGGER.warn("Could not notify component changes in namespace " + namespace, e);
+        }
+      }, NOTIFICATION_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    private void close() {
+      informers.forEach(SharedIndexInformer::close);
+    }
+  }
+
+  /**
+   * Starts an informer on the resources that make up components in a namespace.
+   */
+  @FunctionalInterface
+  interface InformerFactory {
+    SharedIndexInformer<? extends HasMetadata> inform(String namespace, ResourceEventHandler<HasMetadata> handler);
+  }
+
+  /**
+   * A failure to watch a namespace. Watching is retried once its back-off elapsed, the back-off doubles with each
+   * consecutive failure.
+   */
+  static final class Failure {
+
+    private final KubernetesClientException error;
+    private final long backoff;
+    private final long retryAt;
+
+    private Failure(KubernetesClientException error, long backoff, long retryAt) {
+      this.error = error;
+      this.backoff = backoff;
+      this.retryAt = retryAt;
+    }
+
+    static Failure after(Failure previous, KubernetesClientException error, long now) {
+      long backoff = previous == null ? INITIAL_BACKOFF : Math.min(previous.backoff * 2, MAX_BACKOFF);
+      return new Failure(error, backoff, now + backoff);
+    }
+
+    boolean isBackingOff(long now) {
+      return now < retryAt;
+    }
+
+    KubernetesClientException getError() {
+      return error;
+    }
+  }
+
+  private static class ComponentBuilder {
+
+    private final String name;
+    private String managedBy = "";
+    private String projectType;
+    private boolean dev;
+    private boolean deploy;
+
+    private ComponentBuilder(String name) {
+      this.name = name;
+    }
+
+    private void add(ObjectMeta metadata) {
+      Map<String, String> labels = metadata.getLabels();
+      String manager = labels.get(KubernetesLabels.MANAGED_BY_LABEL);
+      if (manager != null
+        && managedBy.isEmpty()) {
+        this.managedBy = manager;
+      }
+      String mode = labels.get(KubernetesLabels.ODO_MODE_LABEL);
+      if (DEV_MODE.equalsIgnoreCase(mode)) {
+        this.dev = true;
+      } else if (DEPLOY_MODE.equalsIgnoreCase(mode)) {
+        this.deploy = true;
+      }
+      if (projectType == null
+        && metadata.getAnnotations() != null) {
+        this.projectType = metadata.getAnnotations().get(KubernetesLabels.ODO_PROJECT_TYPE_ANNOTATION);
+      }
+    }
+
+    private Component build() {
+      ComponentFeatures features = new ComponentFeatures();
+      if (ODO_MANAGER.equals(managedBy)) {
+        if (dev) {
+          features.addFeature(ComponentFeature.DEV);
+        }
+        if (deploy) {
+          features.addFeature(ComponentFeature.DEPLOY);
+        }
+      }
+      ComponentInfo info = new ComponentInfo.Builder()
+        .withComponentKind(ComponentKind.DEVFILE)
+        .withComponentTypeName(projectType)
+        .build();
+      return Component.of(name, managedBy, features, info);
+    }
+  }
+}
@@ -12,6 +12,7 @@ package org.jboss.tools.intellij.openshift.utils.odo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public interface ComponentInfo {
 
@@ -62,33 +63,62 @@ public interface ComponentInfo {
     }
 
     public ComponentInfo build() {
-      return new ComponentInfo() {
-
-        @Override
-        public String getComponentTypeName() {
-          return componentTypeName;
-        }
-
-        @Override
-        public String getLanguage() {
-          return language;
-        }
-
-        @Override
-        public ComponentKind getComponentKind() {
-          return kind;
-        }
-
-        @Override
-        public List<ComponentFeature.Mode> getSupportedFeatures() {
-          return supportedFeatures;
-        }
-
-        @Override
-        public boolean isLocalPodmanPresent() {
-          return isLocalPodmanPresent;
-        }
-      };
+      return new ComponentInfoImpl(componentTypeName, language, kind, supportedFeatures, isLocalPodmanPresent);
+    }
+  }
+
+  class ComponentInfoImpl implements ComponentInfo {
+    private final String componentTypeName;
+    private final String language;
+    private final ComponentKind kind;
+    private final List<ComponentFeature.Mode> supportedFeatures;
+    private final boolean isLocalPodmanPresent;
+
+    private ComponentInfoImpl(String componentTypeName, String language, ComponentKind kind,
+                              List<ComponentFeature.Mode> supportedFeatures, boolean isLocalPodmanPresent) {
+      this.componentTypeName = componentTypeName;
+      this.language = language;
+      this.kind = kind;
+      this.supportedFeatures = supportedFeatures;
+      this.isLocalPodmanPresent = isLocalPodmanPresent;
+    }
+
+    @Override
+    public String getComponentTypeName() {
+      return componentTypeName;
+    }
+
+    @Override
+    public String getLanguage() {
+      return language;
+    }
+
+    @Override
+    public ComponentKind getComponentKind() {
+      return kind;
+    }
+
+    @Override
+    public List<ComponentFeature.Mode> getSupportedFeatures() {
+      return supportedFeatures;
+    }
+
+    @Override
+    public boolean isLocalPodmanPresent() {
+      return isLocalPodmanPresent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ComponentInfoImpl info = (ComponentInfoImpl) o;
+      return isLocalPodmanPresent == info.isLocalPodmanPresent && Objects.equals(componentTypeName, info.componentTypeName) && Objects.equals(language, info.language) && kind == info.kind && Objects.equals(supportedFeatures, info.supportedFeatures);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(componentTypeName, language, kind, supportedFeatures, isLocalPodmanPresent);
     }
   }
 }
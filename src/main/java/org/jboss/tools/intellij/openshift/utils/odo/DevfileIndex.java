@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.SingleEntryFileBasedIndexExtension;
+import com.intellij.util.indexing.SingleEntryIndexer;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jboss.tools.intellij.openshift.Constants.DEVFILE_NAME;
+
+/**
+ * Indexes the {@link DevfileMetadata} of the devfiles in the project, so that the local components can be discovered
+ * without running odo in each module.
+ */
+public class DevfileIndex extends SingleEntryFileBasedIndexExtension<DevfileMetadata> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DevfileIndex.class);
+
+  public static final ID<Integer, DevfileMetadata> NAME = ID.create("org.jboss.tools.intellij.openshift.devfile");
+  private static final List<String> FILE_NAMES = List.of(DEVFILE_NAME, "." + DEVFILE_NAME);
+
+  /**
+   * Returns {@code true} if the given file name is the name of a devfile.
+   *
+   * @param fileName the file name to check
+   * @return {@code true} if the given name is the name of a devfile
+   */
+  public static boolean isDevfile(String fileName) {
+    return FILE_NAMES.contains(fileName);
+  }
+
+  /**
+   * Returns the metadata of the devfile in the given directory. The metadata is read from the index unless
+   * the index is being updated. Has to be called within a read action.
+   *
+   * @param project the project that the directory belongs to
+   * @param directory the directory to get the devfile metadata of
+   * @return the metadata of the devfile or {@code null} if there is no (valid) devfile in the directory
+   */
+  public static DevfileMetadata getMetadata(Project project, VirtualFile directory) {
+    VirtualFile devfile = getDevfile(directory);
+    if (devfile == null) {
+      return null;
+    }
+    if (!DumbService.isDumb(project)) {
+      try {
+        return FileBasedIndex.getInstance().getSingleEntryIndexData(NAME, devfile, project);
+      } catch (IndexNotReadyException e) {
+        // indexing started meanwhile
+      }
+    }
+    try {
+      return DevfileMetadata.parse(VfsUtilCore.loadText(devfile));
+    } catch (IOException e) {
+      LOGGER.debug("Could not read devfile " + devfile.getPath(), e);
+      return null;
+    }
+  }
+
+  private static VirtualFile getDevfile(VirtualFile directory) {
+    if (directory == null
+      || !directory.isValid()
+      || !directory.isDirectory()) {
+      return null;
+    }
+    for (String name : FILE_NAMES) {
+      VirtualFile file = directory.findChild(name);
+      if (file != null
+        && !file.isDirectory()) {
+        return file;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public @NotNull ID<Integer, DevfileMetadata> getName() {
+    return NAME;
+  }
+
+  @Override
+  public @NotNull SingleEntryIndexer<DevfileMetadata> getIndexer() {
+    return new SingleEntryIndexer<>(false) {
+      @Override
+      protected @Nullable DevfileMetadata computeValue(@NotNull FileContent content) {
+        return DevfileMetadata.parse(content.getContentAsText());
+      }
+    };
+  }
+
+  @Override
+  public @NotNull DataExternalizer<DevfileMetadata> getValueExternalizer() {
+    return new MetadataExternalizer();
+  }
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+  @Override
+  public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+    return file -> isDevfile(file.getName());
+  }
+
+  private static final class MetadataExternalizer implements DataExternalizer<DevfileMetadata> {
+
+    @Override
+    public void save(@NotNull DataOutput out, DevfileMetadata value) throws IOException {
+      writeNullable(out, value.getName());
+      writeNullable(out, value.getProjectType());
+      writeList(out, value.getEndpoints());
+      writeList(out, value.getCommands());
+    }
+
+    @Override
+    public DevfileMetadata read(@NotNull DataInput in) throws IOException {
+      return new DevfileMetadata(readNullable(in), readNullable(in), readList(in), readList(in));
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+      out.writeBoolean(value != null);
+      if (value != null) {
+        IOUtil.writeUTF(out, value);
+      }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+      return in.readBoolean() ? IOUtil.readUTF(in) : null;
+    }
+
+    private static void writeList(DataOutput out, List<String> values) throws IOException {
+      DataInputOutputUtil.writeINT(out, values.size());
+      for (String value : values) {
+        IOUtil.writeUTF(out, value);
+      }
+    }
+
+    private static List<String> readList(DataInput in) throws IOException {
+      int size = DataInputOutputUtil.readINT(in);
+      List<String> values = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        values.add(IOUtil.readUTF(in));
+      }
+      return values;
+    }
+  }
+}
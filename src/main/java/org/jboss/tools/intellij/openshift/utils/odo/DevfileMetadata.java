@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jboss.tools.intellij.openshift.utils.Serialization;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The metadata of a local devfile that the tree needs: the component name, its project type, the endpoints of its
+ * containers (as {@code name:targetPort}) and the ids of its commands.
+ */
+public final class DevfileMetadata {
+
+  private static final String METADATA_FIELD = "metadata";
+  private static final String NAME_FIELD = "name";
+  private static final String PROJECT_TYPE_FIELD = "projectType";
+  private static final String COMPONENTS_FIELD = "components";
+  private static final String CONTAINER_FIELD = "container";
+  private static final String ENDPOINTS_FIELD = "endpoints";
+  private static final String TARGET_PORT_FIELD = "targetPort";
+  private static final String COMMANDS_FIELD = "commands";
+  private static final String ID_FIELD = "id";
+
+  private final String name;
+  private final String projectType;
+  private final List<String> endpoints;
+  private final List<String> commands;
+
+  public DevfileMetadata(String name, String projectType, List<String> endpoints, List<String> commands) {
+    this.name = name;
+    this.projectType = projectType;
+    this.endpoints = Collections.unmodifiableList(endpoints);
+    this.commands = Collections.unmodifiableList(commands);
+  }
+
+  /**
+   * Parses the given devfile.
+   *
+   * @param content the content of the devfile
+   * @return the metadata of the devfile or {@code null} if it is not a valid devfile
+   */
+  public static DevfileMetadata parse(CharSequence content) {
+    try {
+      JsonNode root = Serialization.yaml().readTree(content.toString());
+      if (root == null
+        || !root.isObject()) {
+        return null;
+      }
+      JsonNode metadata = root.path(METADATA_FIELD);
+      List<String> endpoints = new ArrayList<>();
+      for (JsonNode component : root.path(COMPONENTS_FIELD)) {
+        for (JsonNode endpoint : component.path(CONTAINER_FIELD).path(ENDPOINTS_FIELD)) {
+          endpoints.add(endpoint.path(NAME_FIELD).asText() + ':' + endpoint.path(TARGET_PORT_FIELD).asText());
+        }
+      }
+      List<String> commands = new ArrayList<>();
+      for (JsonNode command : root.path(COMMANDS_FIELD)) {
+        if (command.hasNonNull(ID_FIELD)) {
+          commands.add(command.get(ID_FIELD).asText());
+        }
+      }
+      return new DevfileMetadata(
+        getText(metadata, NAME_FIELD),
+        getText(metadata, PROJECT_TYPE_FIELD),
+        endpoints,
+        commands);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static String getText(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  /**
+   * Returns the name of the component.
+   *
+   * @return the name of the component or {@code null} if the devfile doesn't name it
+   */
+  public String getName() {
+    return name;
+  }
+
+  public String getProjectType() {
+    return projectType;
+  }
+
+  public List<String> getEndpoints() {
+    return endpoints;
+  }
+
+  public List<String> getCommands() {
+    return commands;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DevfileMetadata that)) {
+      return false;
+    }
+    return Objects.equals(name, that.name)
+      && Objects.equals(projectType, that.projectType)
+      && endpoints.equals(that.endpoints)
+      && commands.equals(that.commands);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, projectType, endpoints, commands);
+  }
+}
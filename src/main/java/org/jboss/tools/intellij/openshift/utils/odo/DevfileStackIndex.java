@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.intellij.util.io.HttpRequests;
+import org.jboss.tools.intellij.openshift.utils.Serialization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * An index of the stacks in devfile registries. The index of a registry is fetched from its {@code /index} endpoint,
+ * persisted to disk and revalidated with its ETag and Last-Modified date once it is older than a minute.
+ * If a registry cannot be reached, its last known index is used. Registries are requested with the proxy and
+ * certificates that are configured in the IDE.
+ */
+public class DevfileStackIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DevfileStackIndex.class);
+
+  private static final long REVALIDATION_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+  private static final String INDEX_PATH = "/index";
+  private static final String URL_FIELD = "url";
+  private static final String ETAG_FIELD = "etag";
+  private static final String LAST_MODIFIED_FIELD = "lastModified";
+  private static final String INDEX_FIELD = "index";
+  private static final String NAME_FIELD = "name";
+  private static final String DISPLAY_NAME_FIELD = "displayName";
+  private static final String DESCRIPTION_FIELD = "description";
+  private static final String STARTER_PROJECTS_FIELD = "starterProjects";
+
+  private final Path directory;
+  private final LongSupplier clock;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  public DevfileStackIndex(Path directory) {
+    this(directory, System::nanoTime);
+  }
+
+  protected DevfileStackIndex(Path directory, LongSupplier clock) {
+    this.directory = directory;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the stacks in the given registry.
+   *
+   * @param registry the registry to return the stacks for
+   * @return the stacks in the given registry
+   * @throws IOException if the registry cannot be reached and its index was never fetched before
+   */
+  public List<DevfileComponentType> getComponentTypes(DevfileRegistry registry) throws IOException {
+    JsonNode index = getIndex(registry);
+    List<DevfileComponentType> types = new ArrayList<>(index.size());
+    for (JsonNode stack : index) {
+      types.add(new DevfileComponentType(
+        stack.path(NAME_FIELD).asText(),
+        stack.path(DISPLAY_NAME_FIELD).asText(),
+        stack.path(DESCRIPTION_FIELD).asText(),
+        registry));
+    }
+    return types;
+  }
+
+  /**
+   * Returns the starter projects of all the stacks in the given registry, by stack name.
+   * They're built in one pass over the index of the registry and kept for as long as it's unchanged.
+   *
+   * @param registry the registry to return the starter projects for
+   * @return the component type infos of the stacks in the given registry
+   * @throws IOException if the registry cannot be reached and its index was never fetched before
+   */
+  public Map<String, ComponentTypeInfo> getComponentTypeInfos(DevfileRegistry registry) throws IOException {
+    getIndex(registry);
+    Entry entry = entries.get(getIndexUrl(registry));
+    if (entry == null) {
+      return Collections.emptyMap();
+    }
+    return entry.getComponentTypeInfos();
+  }
+
+  /**
+   * Returns the index of the given registry, as served by its {@code /index} endpoint.
+   *
+   * @param registry the registry to return the index for
+   * @return the index of the given registry
+   * @throws IOException if the registry cannot be reached and its index was never fetched before
+   */
+  public JsonNode getIndex(DevfileRegistry registry) throws IOException {
+    String url = getIndexUrl(registry);
+    Entry entry = entries.computeIfAbsent(url, this::read);
+    long now = clock.getAsLong();
+    if (entry != null
+      && entry.isFresh(now)) {
+      return entry.index;
+    }
+    try {
+      Entry fetched = fetch(url, entry, now);
+      entries.put(url, fetched);
+      return fetched.index;
+    } catch (IOException e) {
+      if (entry == null) {
+        throw e;
+      }
+      LOGGER.debug("Could not revalidate index of registry " + url + ", using last known index.", e);
+      return entry.index;
+    }
+  }
+
+  /**
+   * Forgets the index of the given registry. It is fetched again when it is requested next.
+   *
+   * @param registry the registry to forget the index of
+   */
+  public void invalidate(DevfileRegistry registry) {
+    String url = getIndexUrl(registry);
+    entries.remove(url);
+    try {
+      Files.deleteIfExists(getFile(url));
+    } catch (IOException e) {
+      LOGGER.debug("Could not delete index of registry " + url, e);
+    }
+  }
+
+  /**
+   * Marks the indexes of all registries as stale. They're revalidated when they are requested next.
+   */
+  public void expire() {
+    long stale = clock.getAsLong() - REVALIDATION_INTERVAL;
+    entries.replaceAll((url, entry) -> new Entry(entry.index, entry.etag, entry.lastModified, stale));
+  }
+
+  private static String getIndexUrl(DevfileRegistry registry) {
+    String url = registry.getURL();
+    if (url.endsWith("/")) {
+      url = url.substring(0, url.length() - 1);
+    }
+    return url + INDEX_PATH;
+  }
+
+  private Entry fetch(String url, Entry known, long now) throws IOException {
+    return HttpRequests.request(url)
+      .throwStatusCodeException(false)
+      .tuner(connection -> {
+        if (known != null) {
+          if (known.etag != null) {
+            connection.setRequestProperty("If-None-Match", known.etag);
+          }
+          if (known.lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", known.lastModified);
+          }
+        }
+      })
+      .connect(request -> {
+        HttpURLConnection connection = (HttpURLConnection) request.getConnection();
+        int code = connection.getResponseCode();
+        if (known != null
+          && code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+          return new Entry(known.index, known.etag, known.lastModified, now);
+        }
+        if (code != HttpURLConnection.HTTP_OK) {
+          throw new IOException("Could not fetch index of registry " + url + ", status code " + code);
+        }
+        JsonNode index = Serialization.json().readTree(request.getInputStream());
+        Entry fetched = new Entry(index, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"), now);
+        write(url, fetched);
+        return fetched;
+      });
+  }
+
+  private Entry read(String url) {
+    Path file = getFile(url);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      JsonNode node = Serialization.json().readTree(file.toFile());
+      if (!url.equals(node.path(URL_FIELD).asText())
+        || !node.path(INDEX_FIELD).isArray()) {
+        return null;
+      }
+      // revalidate persisted indexes when they're first used
+      return new Entry(node.get(INDEX_FIELD), getText(node, ETAG_FIELD), getText(node, LAST_MODIFIED_FIELD),
+        clock.getAsLong() - REVALIDATION_INTERVAL);
+    } catch (IOException e) {
+      LOGGER.debug("Could not read persisted index of registry " + url, e);
+      return null;
+    }
+  }
+
+  private void write(String url, Entry entry) {
+    try {
+      Files.createDirectories(directory);
+      ObjectNode node = JsonNodeFactory.instance.objectNode();
+      node.put(URL_FIELD, url);
+      node.put(ETAG_FIELD, entry.etag);
+      node.put(LAST_MODIFIED_FIELD, entry.lastModified);
+      node.set(INDEX_FIELD, entry.index);
+      Path file = getFile(url);
+      Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      Serialization.json().writeValue(temp.toFile(), node);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.debug("Could not persist index of registry " + url, e);
+    }
+  }
+
+  private Path getFile(String url) {
+    return directory.resolve(Hashes.toFileName(url) + ".json");
+  }
+
+  private static String getText(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static final class Entry {
+
+    private final JsonNode index;
+    private final String etag;
+    private final String lastModified;
+    private final long validatedAt;
+    private volatile Map<String, ComponentTypeInfo> componentTypeInfos;
+
+    private Entry(JsonNode index, String etag, String lastModified, long validatedAt) {
+      this.index = index;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.validatedAt = validatedAt;
+    }
+
+    private boolean isFresh(long now) {
+      return now - validatedAt < REVALIDATION_INTERVAL;
+    }
+
+    private Map<String, ComponentTypeInfo> getComponentTypeInfos() {
+      if (componentTypeInfos == null) {
+        Map<String, ComponentTypeInfo> infos = new HashMap<>();
+        for (JsonNode stack : index) {
+          ComponentTypeInfo.Builder builder = new ComponentTypeInfo.Builder();
+          for (JsonNode starter : stack.path(STARTER_PROJECTS_FIELD)) {
+            String name = starter.isObject() ? starter.path(NAME_FIELD).asText() : starter.asText();
+            builder.withStarter(new Starter.Builder().withName(name).build());
+          }
+          infos.put(stack.path(NAME_FIELD).asText(), builder.build());
+        }
+        this.componentTypeInfos = Collections.unmodifiableMap(infos);
+      }
+      return componentTypeInfos;
+    }
+  }
+}
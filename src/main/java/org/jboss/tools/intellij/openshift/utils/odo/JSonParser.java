@@ -11,6 +11,7 @@
 package org.jboss.tools.intellij.openshift.utils.odo;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
@@ -32,6 +33,8 @@ public class JSonParser {
   private static final String PATHS_FIELD = "paths";
   private static final String POST_FIELD = "post";
   private static final String PARAMETERS_FIELD = "parameters";
+  private static final String REQUEST_BODY_FIELD = "requestBody";
+  private static final String CONTENT_FIELD = "content";
   private static final String BODY_VALUE = "body";
   private static final String SCHEMA_FIELD = "schema";
   private static final String DOLLAR_REF_FIELD = "$ref";
@@ -175,6 +178,18 @@ public class JSonParser {
   }
 
   private JsonNode resolveRefs(JsonNode root, JsonNode node) throws IOException {
+    if (node.isArray()) {
+      // allOf, anyOf, oneOf
+      for (int i = 0; i < node.size(); i++) {
+        JsonNode element = node.get(i);
+        if (element.has(DOLLAR_REF_FIELD)) {
+          ((ArrayNode) node).set(i, resolve(root, element.get(DOLLAR_REF_FIELD).asText()));
+        } else {
+          resolveRefs(root, element);
+        }
+      }
+      return node;
+    }
     for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
       String name = it.next();
       JsonNode child = node.get(name);
@@ -212,21 +227,49 @@ public class JSonParser {
   }
 
   private ObjectNode findSchema(JsonNode node) throws IOException {
-    if (node != null && node.has(POST_FIELD) && node.get(POST_FIELD).has(PARAMETERS_FIELD)) {
-      for (JsonNode parameter : node.get(POST_FIELD).get(PARAMETERS_FIELD)) {
-        if (parameter.has(NAME_FIELD) && parameter.get(NAME_FIELD).asText().equals(BODY_VALUE) && parameter.has(SCHEMA_FIELD)) {
-          JsonNode schema = parameter.get(SCHEMA_FIELD);
-          if (schema.has(DOLLAR_REF_FIELD)) {
-            return (ObjectNode) resolveRefs(root, resolve(root, schema.get(DOLLAR_REF_FIELD).asText()));
-          } else {
-            return (ObjectNode) resolveRefs(root, schema);
-          }
+    if (node != null && node.has(POST_FIELD)) {
+      JsonNode schema = getRequestBodySchema(node.get(POST_FIELD));
+      if (schema == null) {
+        schema = getBodyParameterSchema(node.get(POST_FIELD));
+      }
+      if (schema != null) {
+        if (schema.has(DOLLAR_REF_FIELD)) {
+          return (ObjectNode) resolveRefs(root, resolve(root, schema.get(DOLLAR_REF_FIELD).asText()));
+        } else {
+          return (ObjectNode) resolveRefs(root, schema);
         }
       }
     }
     throw new IOException("Invalid data, no 'post' field");
   }
 
+  /*
+   * openapi v3: post.requestBody.content.<media type>.schema
+   */
+  private JsonNode getRequestBodySchema(JsonNode post) {
+    JsonNode content = post.path(REQUEST_BODY_FIELD).path(CONTENT_FIELD);
+    for (JsonNode mediaType : content) {
+      if (mediaType.has(SCHEMA_FIELD)) {
+        return mediaType.get(SCHEMA_FIELD);
+      }
+    }
+    return null;
+  }
+
+  /*
+   * openapi v2 (swagger): post.parameters[in=body].schema
+   */
+  private JsonNode getBodyParameterSchema(JsonNode post) {
+    if (post.has(PARAMETERS_FIELD)) {
+      for (JsonNode parameter : post.get(PARAMETERS_FIELD)) {
+        if (parameter.has(NAME_FIELD) && parameter.get(NAME_FIELD).asText().equals(BODY_VALUE) && parameter.has(SCHEMA_FIELD)) {
+          return parameter.get(SCHEMA_FIELD);
+        }
+      }
+    }
+    return null;
+  }
+
   public ComponentFeatures parseComponentState() {
     if (root.has(RUNNING_IN_FIELD)) {
       return getLiveFeatures(root.get(RUNNING_IN_FIELD), root.get(RUNNING_ON_FIELD), root.get(PLATFORM));
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+
+/**
+ * A reader that ends the odo output at the first line that starts with {@code ---}.
+ * odo appends notifications (ex. about available updates) after such a line, which would corrupt its json output.
+ */
+class NotificationFilterReader extends Reader {
+
+  private static final char[] NOTIFICATION_MARKER = "---".toCharArray();
+
+  private final PushbackReader reader;
+  private boolean lineStart = true;
+  private boolean end = false;
+
+  NotificationFilterReader(Reader reader) {
+    this.reader = new PushbackReader(reader, NOTIFICATION_MARKER.length);
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) throws IOException {
+    if (end) {
+      return -1;
+    }
+    int read = 0;
+    while (read < length) {
+      if (lineStart) {
+        if (isNotification()) {
+          this.end = true;
+          break;
+        }
+        this.lineStart = false;
+      }
+      int character = reader.read();
+      if (character == -1) {
+        this.end = true;
+        break;
+      }
+      buffer[offset + read++] = (char) character;
+      if (character == '\n') {
+        this.lineStart = true;
+        if (!reader.ready()) {
+          // dont block for the next line if the caller can already process this one
+          break;
+        }
+      }
+    }
+    if (read == 0
+      && end) {
+      return -1;
+    }
+    return read;
+  }
+
+  private boolean isNotification() throws IOException {
+    char[] start = new char[NOTIFICATION_MARKER.length];
+    int read = 0;
+    while (read < start.length) {
+      int character = reader.read();
+      if (character == -1) {
+        break;
+      }
+      start[read++] = (char) character;
+      if (character != NOTIFICATION_MARKER[read - 1]) {
+        break;
+      }
+    }
+    if (read == NOTIFICATION_MARKER.length
+      && start[read - 1] == NOTIFICATION_MARKER[read - 1]) {
+      return true;
+    }
+    reader.unread(start, 0, read);
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
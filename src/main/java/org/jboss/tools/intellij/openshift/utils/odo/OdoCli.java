@@ -10,16 +10,19 @@
  ******************************************************************************/
 package org.jboss.tools.intellij.openshift.utils.odo;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.intellij.execution.process.ProcessAdapter;
 import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.text.Strings;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.messages.MessageBus;
 import com.redhat.devtools.intellij.common.utils.ExecHelper;
 import io.fabric8.kubernetes.api.Pluralize;
@@ -27,18 +30,18 @@ import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.NamedContext;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.VersionInfo;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
-import io.fabric8.kubernetes.client.http.HttpRequest;
-import io.fabric8.kubernetes.client.http.HttpResponse;
 import io.fabric8.kubernetes.model.Scope;
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.fabric8.openshift.client.dsl.OpenShiftOperatorHubAPIGroupDSL;
 import io.fabric8.openshift.client.impl.OpenShiftOperatorHubAPIGroupClient;
 import org.jboss.tools.intellij.openshift.KubernetesLabels;
 import org.jboss.tools.intellij.openshift.utils.Cli;
+import org.jboss.tools.intellij.openshift.utils.CliCache;
 import org.jboss.tools.intellij.openshift.utils.KubernetesClientExceptionUtils;
 import org.jboss.tools.intellij.openshift.utils.Serialization;
 import org.jetbrains.annotations.NotNull;
@@ -46,21 +49,27 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apache.commons.io.FileUtils;
@@ -94,13 +103,36 @@ public class OdoCli extends Cli implements OdoDelegate {
   private static final String NAME_FIELD = "name";
   private static final String NAMESPACE_FIELD = "namespace";
   private static final String SPEC_FIELD = "spec";
+
+  private static final String REGISTRY_GROUP = "registry list";
+  private static final String PREFERENCE_GROUP = "preference view";
+  private static final String DESCRIBE_COMPONENT_GROUP = "describe component";
+  private static final String DESCRIBE_BINDING_GROUP = "describe binding";
+  private static final String SERVICES_GROUP = "list service";
+  private static final String LIST_COMPONENT_GROUP = "list component";
+  private static final String ANALYZE_GROUP = "analyze";
+
+
   private final com.intellij.openapi.project.Project project;
   private final String command;
   private final OpenShiftClient openshiftClient;
   private final Map<String, String> envVars;
-  private final AtomicBoolean swaggerLoaded = new AtomicBoolean();
+  private final List<Consumer<String>> componentsListeners = new CopyOnWriteArrayList<>();
+  private final ComponentIndex componentIndex;
+  private final OpenApiSchemaProvider schemaProvider;
+  private final CRDSchemaCache schemaCache;
+  private final ServiceTemplateCatalog serviceTemplateCatalog;
+  private final DevfileStackIndex stackIndex = new DevfileStackIndex(Paths.get(PathManager.getSystemPath(), "openshift", "devfile-registries"));
+  private final CliCache cache = new CliCache()
+    .withTimeToLive(REGISTRY_GROUP, 5, TimeUnit.MINUTES)
+    .withTimeToLive(PREFERENCE_GROUP, 5, TimeUnit.MINUTES)
+    .withTimeToLive(DESCRIBE_COMPONENT_GROUP, 10, TimeUnit.SECONDS)
+    .withTimeToLive(DESCRIBE_BINDING_GROUP, 10, TimeUnit.SECONDS)
+    .withTimeToLive(SERVICES_GROUP, 10, TimeUnit.SECONDS)
+    .withTimeToLive(LIST_COMPONENT_GROUP, 10, TimeUnit.SECONDS)
+    .withTimeToLive(ANALYZE_GROUP, 1, TimeUnit.MINUTES);
+  private final String kubeContext;
   private String currentNamespace;
-  private JSonParser swagger;
   private CompletableFuture<Boolean> isPodmanPresent;
 
   public OdoCli(com.intellij.openapi.project.Project project, String command) {
@@ -126,39 +158,127 @@ public class OdoCli extends Cli implements OdoDelegate {
     this.project = project;
     this.openshiftClient = openshiftClientFactory.apply(client);
     this.envVars = envVarFactory.apply(String.valueOf(client.getMasterUrl()));
+    this.kubeContext = getContextName(client);
     this.isPodmanPresent = processPodmanPresent(command);
+    this.schemaProvider = new OpenApiSchemaProvider(client);
+    this.schemaCache = new CRDSchemaCache(client, Paths.get(PathManager.getSystemPath(), "openshift", "crd-schemas"));
+    this.serviceTemplateCatalog = new ServiceTemplateCatalog(client,
+      bindableKinds -> new ServiceTemplatesDeserializer(this::findSchema, bindableKinds, schemaCache));
+    this.componentIndex = new ComponentIndex(client, AppExecutorUtil.getAppScheduledExecutorService(), this::fireComponentsChanged);
     initTelemetry(bus, telemetryReport);
   }
 
   private void initTelemetry(MessageBus bus, TelemetryReport telemetryReport) {
     telemetryReport.addTelemetryVars(envVars);
-    telemetryReport.subscribe(bus, envVars);
+    telemetryReport.subscribe(bus, envVars, this);
     telemetryReport.report(client);
   }
 
 
   private static String execute(@NotNull File workingDirectory, String command, Map<String, String> envs, String... args) throws IOException {
     ExecHelper.ExecResult output = ExecHelper.executeWithResult(command, true, workingDirectory, envs, args);
-    try (BufferedReader reader = new BufferedReader(new StringReader(output.getStdOut()))) {
-      BinaryOperator<String> reducer = new BinaryOperator<>() {
-        private boolean notificationFound = false;
-
-        @Override
-        public String apply(String s, String s2) {
-          if (s2.startsWith("---")) {
-            notificationFound = true;
-          }
-          return notificationFound ? s : s + s2 + "\n";
+    return FileUtil.loadTextAndClose(new NotificationFilterReader(new StringReader(output.getStdOut())));
+  }
+
+  /**
+   * Executes the given odo command and hands its output to the given reader while the process is still writing it.
+   * The output is not buffered as a whole, notifications that odo appends are filtered while streaming.
+   * Errors are captured separately, a failure is reported with the exit code and the error output of odo, which
+   * holds the (json) error message that callers match.
+   */
+  private static <T> T executeJson(@NotNull File workingDirectory, String command, Map<String, String> envs, OutputReader<T> outputReader, String... args) throws IOException {
+    List<String> commandLine = new ArrayList<>(args.length + 1);
+    commandLine.add(command);
+    commandLine.addAll(Arrays.asList(args));
+    File errors = FileUtil.createTempFile("odo", ".err", true);
+    try {
+      ProcessBuilder builder = new ProcessBuilder(commandLine)
+        .directory(workingDirectory)
+        .redirectError(errors);
+      builder.environment().putAll(envs);
+      Process process = builder.start();
+      T value = null;
+      IOException readError = null;
+      try (InputStream output = process.getInputStream()) {
+        try (JsonParser parser = Serialization.json().getFactory().createParser(
+          new NotificationFilterReader(new InputStreamReader(output, StandardCharsets.UTF_8)))) {
+          // the output is drained once it was read, the process would fail writing to a closed stream otherwise
+          parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+          value = outputReader.read(parser);
+        } catch (IOException e) {
+          readError = e;
         }
-      };
-      return reader.lines().reduce("", reducer);
+        output.transferTo(OutputStream.nullOutputStream());
+      }
+      int exitCode = waitFor(process);
+      if (exitCode != 0) {
+        throw new IOException(String.join(" ", commandLine) + " failed with exit code " + exitCode + ": "
+          + FileUtil.loadFile(errors, StandardCharsets.UTF_8), readError);
+      } else if (readError != null) {
+        throw readError;
+      }
+      return value;
+    } finally {
+      FileUtil.delete(errors);
     }
   }
 
+  private static int waitFor(Process process) throws IOException {
+    try {
+      return process.waitFor();
+    } catch (InterruptedException e) {
+      process.destroy();
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    }
+  }
+
+  private static <T> T executeJson(String command, Map<String, String> envs, OutputReader<T> outputReader, String... args) throws IOException {
+    return executeJson(new File(HOME_FOLDER), command, envs, outputReader, args);
+  }
+
   private static String execute(String command, Map<String, String> envs, String... args) throws IOException {
     return execute(new File(HOME_FOLDER), command, envs, args);
   }
 
+  private static String getContextName(KubernetesClient client) {
+    NamedContext context = client.getConfiguration().getCurrentContext();
+    if (context == null) {
+      return null;
+    }
+    return context.getName();
+  }
+
+  private <T> T cached(String group, File workingDirectory, CliCache.Loader<T> loader, String... args) throws IOException {
+    T value = cache.get(new CliCache.Key(group, workingDirectory.getAbsolutePath(), kubeContext, args), loader);
+    LOGGER.debug("odo {}: {}", group, cache);
+    return value;
+  }
+
+  /**
+   * Returns the cached output of the given read-only odo command, executes it if it's not cached, and hands it to the
+   * given reader. The streamed json tree is cached rather than what is read from it since the components, descriptors
+   * etc. that are read can be modified by the callers. The reader gets the tokens of the cached tree, the tree itself
+   * is not modified.
+   */
+  private <T> T cachedJson(String group, File workingDirectory, OutputReader<T> outputReader, String... args) throws IOException {
+    JsonNode output = cached(group, workingDirectory,
+      () -> executeJson(workingDirectory, command, envVars, OdoCli::readTree, args),
+      args);
+    try (JsonParser parser = Serialization.json().treeAsTokens(output)) {
+      return outputReader.read(parser);
+    }
+  }
+
+  /**
+   * Returns the statistics of the cache for the results of read-only odo invocations.
+   *
+   * @return the cache statistics
+   */
+  public String getCacheStatistics() {
+    return cache.toString();
+  }
+
   @Override
   public List<String> getNamespaces() throws IOException {
     try {
@@ -185,6 +305,30 @@ public class OdoCli extends Cli implements OdoDelegate {
     return currentNamespace;
   }
 
+  @Override
+  public void updateToken(String token) {
+    // the token of the configuration is applied to each request
+    updateClientToken(token);
+    invalidateNamespaceScoped();
+  }
+
+  @Override
+  public void updateNamespace(String namespace) {
+    this.currentNamespace = getCurrentNamespace(namespace);
+    componentIndex.retain(currentNamespace);
+    invalidateNamespaceScoped();
+  }
+
+  @Override
+  public void invalidateCaches() {
+    cache.invalidateAll();
+    schemaProvider.invalidate();
+    schemaCache.invalidate();
+    serviceTemplateCatalog.close();
+    stackIndex.expire();
+    componentIndex.invalidate();
+  }
+
   private String getCurrentNamespace(String name) {
     String namespace = name;
     if (Strings.isEmpty(name)) {
@@ -221,6 +365,8 @@ public class OdoCli extends Cli implements OdoDelegate {
       List<String> args = new ArrayList<>();
       args.add(command);
       args.addAll(feature.getStartArgs());
+      cache.invalidate(DESCRIBE_COMPONENT_GROUP, createWorkingDirectory(context).getAbsolutePath());
+      cache.invalidateGroups(LIST_COMPONENT_GROUP);
       ExecHelper.executeWithTerminal(
         this.project, WINDOW_TITLE,
         new File(context),
@@ -240,6 +386,8 @@ public class OdoCli extends Cli implements OdoDelegate {
       if (!feature.getStopArgs().isEmpty()) {
         execute(createWorkingDirectory(context), command, envVars, feature.getStopArgs().toArray(new String[0]));
       }
+      cache.invalidate(DESCRIBE_COMPONENT_GROUP, createWorkingDirectory(context).getAbsolutePath());
+      cache.invalidateGroups(LIST_COMPONENT_GROUP);
     }
   }
 
@@ -252,10 +400,11 @@ public class OdoCli extends Cli implements OdoDelegate {
 
   @Override
   public List<ComponentMetadata> analyze(String path) throws IOException {
-    return Serialization.configure(new ComponentMetadatasDeserializer()).readValue(
-      execute(new File(path), command, envVars, "analyze", "-o", "json"),
-      new TypeReference<>() {
-      });
+    return cachedJson(ANALYZE_GROUP, new File(path),
+      output -> Serialization.configure(new ComponentMetadatasDeserializer()).readValue(output,
+        new TypeReference<List<ComponentMetadata>>() {
+        }),
+      "analyze", "-o", "json");
   }
 
   @Override
@@ -278,6 +427,7 @@ public class OdoCli extends Cli implements OdoDelegate {
     args.add("--name");
     args.add(component);
     execute(new File(source), command, envVars, args.toArray(new String[0]));
+    cache.invalidateGroups(DESCRIBE_COMPONENT_GROUP, DESCRIBE_BINDING_GROUP, LIST_COMPONENT_GROUP, ANALYZE_GROUP);
   }
 
   private CustomResourceDefinitionContext toCustomResourceDefinitionContext(org.jboss.tools.intellij.openshift.utils.odo.Service service) {
@@ -300,6 +450,7 @@ public class OdoCli extends Cli implements OdoDelegate {
       ObjectNode payload = serviceCRD.getSample().deepCopy();
       updatePayload(payload, spec, project, service);
       client.resource(Serialization.json().writeValueAsString(payload)).create();
+      cache.invalidateGroups(SERVICES_GROUP);
     } catch (KubernetesClientException e) {
       throw new IOException(e.getLocalizedMessage(), e);
     }
@@ -320,6 +471,7 @@ public class OdoCli extends Cli implements OdoDelegate {
     try {
       CustomResourceDefinitionContext context = toCustomResourceDefinitionContext(service);
       client.genericKubernetesResources(context).inNamespace(project).withName(service.getName()).delete();
+      cache.invalidateGroups(SERVICES_GROUP);
     } catch (KubernetesClientException e) {
       throw new IOException(e.getLocalizedMessage(), e);
     }
@@ -327,74 +479,60 @@ public class OdoCli extends Cli implements OdoDelegate {
 
   @Override
   public List<DevfileComponentType> getAllComponentTypes() throws IOException {
-    return Serialization.configure(new ComponentTypesDeserializer()).readValue(
-      execute(command, envVars, "registry", "list", "-o", "json"),
-      new TypeReference<>() {
-      });
-  }
-
-  private void loadSwagger() {
-    try {
-      HttpRequest req = client.getHttpClient().newHttpRequestBuilder().url(new java.net.URL(client.getMasterUrl(), "/openapi/v2")).build();
-      CompletableFuture<HttpResponse<byte[]>> completableFuture = client.getHttpClient()
-        .sendAsync(req, byte[].class);
-      HttpResponse<byte[]> response = completableFuture.get();
-      if (response.isSuccessful()) {
-        swagger = new JSonParser(new ObjectMapper().readTree(response.body()));
+    List<DevfileRegistry> registries = listDevfileRegistries();
+    if (registries.stream().noneMatch(DevfileRegistry::isSecure)) {
+      try {
+        List<DevfileComponentType> types = new ArrayList<>();
+        for (DevfileRegistry registry : registries) {
+          types.addAll(stackIndex.getComponentTypes(registry));
+        }
+        return Collections.unmodifiableList(types);
+      } catch (IOException e) {
+        LOGGER.debug("Could not index devfile registries, listing them with odo.", e);
       }
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-    } catch (IOException | ExecutionException e) {
-      LOGGER.warn(e.getLocalizedMessage(), e);
     }
+    return listAllComponentTypes();
   }
 
-  private ObjectNode findSchema(String crd) {
-    try {
-      if (swaggerLoaded.compareAndSet(false, true)) {
-        loadSwagger();
-      }
-      if (swagger != null) {
-        return swagger.findSchema("/apis/" + crd);
-      }
-    } catch (IOException e) {
-      LOGGER.warn(e.getLocalizedMessage(), e);
-    }
-    return null;
+  private List<DevfileComponentType> listAllComponentTypes() throws IOException {
+    String[] args = {"registry", "list", "-o", "json"};
+    return cached(REGISTRY_GROUP, new File(HOME_FOLDER), () -> Collections.unmodifiableList(
+      executeJson(command, envVars,
+        output -> Serialization.configure(new ComponentTypesDeserializer()).readValue(output,
+          new TypeReference<List<DevfileComponentType>>() {
+          }),
+        args)),
+      args);
   }
 
-  private void getTargetCRD(GenericKubernetesResource resource,
-                            List<GenericKubernetesResource> bindableKinds) {
-    JsonNode additionalPropertiesNode = client.getKubernetesSerialization().convertValue(resource.getAdditionalProperties(), JsonNode.class);
-    if (additionalPropertiesNode != null &&
-      additionalPropertiesNode.has("status")) {
-      for (JsonNode status : additionalPropertiesNode.get("status")) {
-        if (status.has("group") && status.has("kind") && status.has("version")) {
-          GenericKubernetesResource bindableKind = new GenericKubernetesResource();
-          bindableKind.setApiVersion(status.get("group").asText() + '/' + status.get("version").asText());
-          bindableKind.setKind(status.get("kind").asText());
-          bindableKinds.add(bindableKind);
-        }
-      }
-    }
+  private ObjectNode findSchema(String crd) {
+    return schemaProvider.findSchema(crd);
   }
 
   private List<GenericKubernetesResource> getBindableKinds() {
-    List<GenericKubernetesResource> bindableKinds = new ArrayList<>();
-    client.genericKubernetesResources("binding.operators.coreos.com/v1alpha1", "BindableKinds")
-      .list()
-      .getItems()
-      .forEach(r -> getTargetCRD(r, bindableKinds));
-    return bindableKinds;
+    return ServiceTemplateCatalog.toBindableKinds(client,
+      client.genericKubernetesResources(ServiceTemplateCatalog.BINDABLE_KINDS_API_VERSION, ServiceTemplateCatalog.BINDABLE_KINDS_KIND)
+        .list()
+        .getItems());
   }
 
   @Override
   public List<ServiceTemplate> getServiceTemplates() {
+    try {
+      return serviceTemplateCatalog.getServiceTemplates(getCurrentNamespace());
+    } catch (KubernetesClientException e) {
+      // cannot list/watch in the current namespace or no operator support
+      LOGGER.debug("Could not watch service templates, listing them in the current namespace.", e);
+      return listServiceTemplates();
+    }
+  }
+
+  private List<ServiceTemplate> listServiceTemplates() {
     try {
       List<GenericKubernetesResource> bindableKinds = getBindableKinds();
       // if cluster (either openshift or Kubernetes) supports  operators
       OpenShiftOperatorHubAPIGroupDSL hubClient = client.adapt(OpenShiftOperatorHubAPIGroupClient.class);
-      ServiceTemplatesDeserializer deserializer = new ServiceTemplatesDeserializer(this::findSchema, bindableKinds);
+      ServiceTemplatesDeserializer deserializer = new ServiceTemplatesDeserializer(this::findSchema, bindableKinds, schemaCache);
       return deserializer.fromList(hubClient.clusterServiceVersions().list());
     } catch (KubernetesClientException e) {
       // if client can't be adapted to OperatorHub
@@ -402,15 +540,17 @@ public class OdoCli extends Cli implements OdoDelegate {
     }
   }
 
-  private List<URL> parseURLs(String json) throws IOException {
-    JSonParser parser = new JSonParser(Serialization.json().readTree(json));
-    return parser.parseURLS();
+  private JsonNode describeComponent(File workingDirectory, String... args) throws IOException {
+    // listURLs and getComponentInfo share the same describe payload
+    return cached(DESCRIBE_COMPONENT_GROUP, workingDirectory,
+      () -> executeJson(workingDirectory, command, envVars, OdoCli::readTree, args),
+      args);
   }
 
   @Override
   public List<URL> listURLs(String context) throws IOException {
     if (context != null) {
-      return parseURLs(execute(new File(context), command, envVars, "describe", "component", "-o", "json"));
+      return new JSonParser(describeComponent(new File(context), "describe", "component", "-o", "json")).parseURLS();
     } else {
       return Collections.emptyList();
     }
@@ -420,14 +560,14 @@ public class OdoCli extends Cli implements OdoDelegate {
   public ComponentInfo getComponentInfo(String project, String component, String path,
                                         ComponentKind kind) throws IOException {
     if (path != null) {
-      return parseComponentInfo(execute(new File(path), command, envVars, "describe", "component", "-o", "json"), kind);
+      return parseComponentInfo(describeComponent(new File(path), "describe", "component", "-o", "json"), kind);
     } else {
-      return parseComponentInfo(execute(command, envVars, "describe", "component", "--namespace", project, "--name", component, "-o", "json"), kind);
+      return parseComponentInfo(describeComponent(new File(HOME_FOLDER), "describe", "component", "--namespace", project, "--name", component, "-o", "json"), kind);
     }
   }
 
-  private ComponentInfo parseComponentInfo(String json, ComponentKind kind) throws IOException {
-    JSonParser parser = new JSonParser(Serialization.json().readTree(json));
+  private ComponentInfo parseComponentInfo(JsonNode json, ComponentKind kind) {
+    JSonParser parser = new JSonParser(json);
     return parser.parseDescribeComponentInfo(kind, isPodmanPresent());
   }
 
@@ -490,6 +630,7 @@ public class OdoCli extends Cli implements OdoDelegate {
     } else {
       deleteDeployment(project, component);
     }
+    cache.invalidateGroups(DESCRIBE_COMPONENT_GROUP, DESCRIBE_BINDING_GROUP, LIST_COMPONENT_GROUP, ANALYZE_GROUP);
   }
 
   private void doLog(String context, boolean follow, boolean deploy, String platform, List<ProcessHandler> handlers) throws IOException {
@@ -559,6 +700,7 @@ public class OdoCli extends Cli implements OdoDelegate {
   @Override
   public void createProject(String project) throws IOException {
     execute(command, envVars, "create", NAMESPACE_FIELD, project, "-w");
+    invalidateNamespaceScoped();
   }
 
   @Override
@@ -567,11 +709,17 @@ public class OdoCli extends Cli implements OdoDelegate {
     if (project.equals(currentNamespace)) {
       currentNamespace = null;
     }
+    invalidateNamespaceScoped();
   }
 
   @Override
   public void setProject(String project) throws IOException {
     execute(command, envVars, "set", NAMESPACE_FIELD, project);
+    invalidateNamespaceScoped();
+  }
+
+  private void invalidateNamespaceScoped() {
+    cache.invalidateGroups(SERVICES_GROUP, DESCRIBE_COMPONENT_GROUP, DESCRIBE_BINDING_GROUP);
   }
 
   @Override
@@ -595,19 +743,51 @@ public class OdoCli extends Cli implements OdoDelegate {
 
   @Override
   public List<Component> getComponentsOnCluster(String project) throws IOException {
-    return Serialization.configure(new ComponentDeserializer()).readValue(
-      execute(command, envVars, "list", "--namespace", project, "-o", "json"),
-      new TypeReference<>() {
-      });
+    try {
+      return componentIndex.getComponents(project);
+    } catch (KubernetesClientException e) {
+      // cannot list/watch deployments and services, let odo do it
+      LOGGER.debug("Could not index components in namespace {}, listing them with odo.", project, e);
+      return listComponents(project);
+    }
+  }
+
+  private List<Component> listComponents(String project) throws IOException {
+    return cachedJson(LIST_COMPONENT_GROUP, new File(HOME_FOLDER),
+      output -> Serialization.configure(new ComponentDeserializer()).readValue(output,
+        new TypeReference<List<Component>>() {
+        }),
+      "list", "--namespace", project, "-o", "json");
+  }
+
+  @Override
+  public void addComponentsListener(Consumer<String> listener) {
+    componentsListeners.add(listener);
+  }
+
+  private void fireComponentsChanged(String namespace) {
+    componentsListeners.forEach(listener -> listener.accept(namespace));
+  }
+
+  @Override
+  public void dispose() {
+    componentsListeners.clear();
+    componentIndex.close();
+    serviceTemplateCatalog.close();
+    releaseClient();
   }
 
   @Override
   public List<org.jboss.tools.intellij.openshift.utils.odo.Service> getServices(String project) throws IOException {
+    String[] args = {"list", "service", "--namespace", project, "-o", "json"};
     try {
-      return Serialization.configure(new ServiceDeserializer()).readValue(
-        execute(command, envVars, "list", "service", "--namespace", project, "-o", "json"),
-        new TypeReference<>() {
-        });
+      return cached(SERVICES_GROUP, new File(HOME_FOLDER), () -> Collections.unmodifiableList(
+        executeJson(command, envVars,
+          output -> Serialization.configure(new ServiceDeserializer()).readValue(output,
+            new TypeReference<List<org.jboss.tools.intellij.openshift.utils.odo.Service>>() {
+            }),
+          args)),
+        args);
     } catch (IOException e) {
       //https://github.com/openshift/odo/issues/5010
       if (e.getMessage().contains("\"no operator backed services found in namespace:") ||
@@ -639,6 +819,7 @@ public class OdoCli extends Cli implements OdoDelegate {
     String bindingName = generateBindingName(bindings);
     execute(new File(context), command, envVars, "add", "binding", "--name", bindingName, "--service",
       target, "--bind-as-files=false");
+    invalidateBindings(context);
     return listBindings(context).stream().filter(b -> bindingName.equals(b.getName()))
       .findFirst()
       .orElse(null);
@@ -647,10 +828,15 @@ public class OdoCli extends Cli implements OdoDelegate {
   @Override
   public List<Binding> listBindings(String context) throws IOException {
     if (context != null) {
-      return Serialization.configure(new BindingDeserializer()).readValue(
-        execute(new File(context), command, envVars, "describe", "binding", "-o", "json"),
-        new TypeReference<>() {
-        });
+      File workingDirectory = new File(context);
+      String[] args = {"describe", "binding", "-o", "json"};
+      return cached(DESCRIBE_BINDING_GROUP, workingDirectory, () -> Collections.unmodifiableList(
+        executeJson(workingDirectory, command, envVars,
+          output -> Serialization.configure(new BindingDeserializer()).readValue(output,
+            new TypeReference<List<Binding>>() {
+            }),
+          args)),
+        args);
     }
     return Collections.emptyList();
   }
@@ -658,6 +844,13 @@ public class OdoCli extends Cli implements OdoDelegate {
   @Override
   public void deleteBinding(String context, String binding) throws IOException {
     execute(new File(context), command, envVars, "remove", "binding", "--name", binding);
+    invalidateBindings(context);
+  }
+
+  private void invalidateBindings(String context) {
+    String workingDirectory = new File(context).getAbsolutePath();
+    cache.invalidate(DESCRIBE_BINDING_GROUP, workingDirectory);
+    cache.invalidate(DESCRIBE_COMPONENT_GROUP, workingDirectory);
   }
 
   @Override
@@ -716,25 +909,57 @@ public class OdoCli extends Cli implements OdoDelegate {
 
   @Override
   public List<ComponentDescriptor> discover(String path) throws IOException {
-    return Serialization.configure(new ComponentDescriptorsDeserializer(new File(path).getAbsolutePath())).readValue(
-      execute(new File(path), command, envVars, "list", "-o", "json"),
-      new TypeReference<>() {
-      });
+    return cachedJson(LIST_COMPONENT_GROUP, new File(path),
+      output -> Serialization.configure(new ComponentDescriptorsDeserializer(new File(path).getAbsolutePath())).readValue(output,
+        new TypeReference<List<ComponentDescriptor>>() {
+        }),
+      "list", "-o", "json");
   }
 
   @Override
   public ComponentTypeInfo getComponentTypeInfo(String componentType, String registryName) throws IOException {
-    String json = execute(command, envVars, "registry", "list", "--devfile-registry", registryName, "--devfile", componentType, "-o", "json");
-    JSonParser parser = new JSonParser(Serialization.json().readTree(json));
-    return parser.parseComponentTypeInfo();
+    DevfileRegistry registry = getIndexableRegistry(registryName);
+    if (registry != null) {
+      try {
+        // the starters of all stacks of the registry are loaded at once
+        ComponentTypeInfo info = stackIndex.getComponentTypeInfos(registry).get(componentType);
+        if (info != null) {
+          return info;
+        }
+      } catch (IOException e) {
+        LOGGER.debug("Could not index devfile registry " + registryName + ", listing it with odo.", e);
+      }
+    }
+    String[] args = {"registry", "list", "--devfile-registry", registryName, "--devfile", componentType, "-o", "json"};
+    return cached(REGISTRY_GROUP, new File(HOME_FOLDER), () -> {
+        JsonNode json = executeJson(command, envVars, OdoCli::readTree, args);
+        return new JSonParser(json).parseComponentTypeInfo();
+      },
+      args);
+  }
+
+  /**
+   * Returns the registry with the given name if its stacks can be indexed. Secure registries are not indexed
+   * because odo holds their token.
+   */
+  private DevfileRegistry getIndexableRegistry(String name) throws IOException {
+    return listDevfileRegistries().stream()
+      .filter(registry -> name.equals(registry.getName())
+        && !registry.isSecure())
+      .findFirst()
+      .orElse(null);
   }
 
   @Override
   public List<DevfileRegistry> listDevfileRegistries() throws IOException {
-    return Serialization.configure(new DevfileRegistriesDeserializer()).readValue(
-      execute(command, envVars, "preference", "view", "-o", "json"),
-      new TypeReference<>() {
-      });
+    String[] args = {"preference", "view", "-o", "json"};
+    return cached(PREFERENCE_GROUP, new File(HOME_FOLDER), () -> Collections.unmodifiableList(
+      executeJson(command, envVars,
+        output -> Serialization.configure(new DevfileRegistriesDeserializer()).readValue(output,
+          new TypeReference<List<DevfileRegistry>>() {
+          }),
+        args)),
+      args);
   }
 
   @Override
@@ -744,16 +969,26 @@ public class OdoCli extends Cli implements OdoDelegate {
     } else {
       execute(command, envVars, "preference", "add", "registry", name, url);
     }
+    cache.invalidateGroups(PREFERENCE_GROUP, REGISTRY_GROUP);
   }
 
   @Override
   public void deleteDevfileRegistry(String name) throws IOException {
     execute(command, envVars, "preference", "remove", "registry", "-f", name);
+    cache.invalidateGroups(PREFERENCE_GROUP, REGISTRY_GROUP);
   }
 
   @Override
   public List<DevfileComponentType> getComponentTypesFromRegistry(String name) throws IOException {
-    return getAllComponentTypes().stream().
+    DevfileRegistry registry = getIndexableRegistry(name);
+    if (registry != null) {
+      try {
+        return stackIndex.getComponentTypes(registry);
+      } catch (IOException e) {
+        LOGGER.debug("Could not index devfile registry " + name + ", listing it with odo.", e);
+      }
+    }
+    return listAllComponentTypes().stream().
       filter(type -> name.equals(type.getDevfileRegistry().getName())).toList();
   }
 
@@ -806,4 +1041,17 @@ public class OdoCli extends Cli implements OdoDelegate {
     }
   }
 
+  /**
+   * Reads the json tree of the given output, an empty output is a missing node as when reading a whole document.
+   */
+  private static JsonNode readTree(JsonParser output) throws IOException {
+    JsonNode tree = Serialization.json().readTree(output);
+    return tree == null ? MissingNode.getInstance() : tree;
+  }
+
+  @FunctionalInterface
+  private interface OutputReader<T> {
+    T read(JsonParser output) throws IOException;
+  }
+
 }
@@ -12,11 +12,13 @@ package org.jboss.tools.intellij.openshift.utils.odo;
 
 import com.intellij.execution.process.ProcessAdapter;
 import com.intellij.execution.process.ProcessHandler;
+import com.intellij.openapi.Disposable;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
-public interface OdoDelegate extends Odo {
+public interface OdoDelegate extends Odo, Disposable {
 
   void start(String context, ComponentFeature feature, ProcessHandler handler, ProcessAdapter processAdapter) throws IOException;
 
@@ -28,4 +30,31 @@ public interface OdoDelegate extends Odo {
 
   List<Component> getComponentsOnCluster(String project) throws IOException;
 
+  /**
+   * Adds a listener that is notified with the name of the namespace whose components changed on the cluster.
+   *
+   * @param listener the listener to notify
+   */
+  void addComponentsListener(Consumer<String> listener);
+
+  /**
+   * Authenticates with the given token from now on, keeping the existing clients.
+   *
+   * @param token the token to authenticate with
+   */
+  void updateToken(String token);
+
+  /**
+   * Uses the given namespace as current namespace from now on, keeping the existing clients.
+   *
+   * @param namespace the namespace to use as current namespace
+   */
+  void updateNamespace(String namespace);
+
+  /**
+   * Drops the cached results of odo invocations, the loaded schemas, service templates and components and marks the
+   * registry indexes as stale, keeping the existing clients.
+   */
+  void invalidateCaches();
+
 }
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import org.jboss.tools.intellij.openshift.utils.Serialization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Provides the schemas of custom resources from the openapi documents of the cluster.
+ * Only the openapi v3 document for the group/version of the requested resource is downloaded
+ * (ex. {@code /openapi/v3/apis/kafka.strimzi.io/v1beta2}). Clusters that don't serve openapi v3 fall back
+ * to the whole openapi v2 document. Only documents that could be loaded are kept, a failed load is tried again the
+ * next time a schema of its group/version is requested.
+ */
+public class OpenApiSchemaProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OpenApiSchemaProvider.class);
+
+  private static final String V2_PATH = "/openapi/v2";
+  private static final String V3_PATH = "/openapi/v3";
+  private static final String APIS_PATH = "/apis/";
+  private static final String PATHS_FIELD = "paths";
+  private static final String SERVER_RELATIVE_URL_FIELD = "serverRelativeURL";
+
+  private final KubernetesClient client;
+  private final Map<String, JSonParser> documents = new ConcurrentHashMap<>();
+  private Optional<JsonNode> v3Discovery;
+  private Optional<JSonParser> v2Document;
+
+  public OpenApiSchemaProvider(KubernetesClient client) {
+    this.client = client;
+  }
+
+  /**
+   * Returns the schema for the given custom resource or {@code null} if it cannot be found.
+   *
+   * @param crd the path to the custom resource, relative to {@code /apis/}
+   *            (ex. {@code kafka.strimzi.io/v1beta2/namespaces/{namespace}/kafkas})
+   * @return the schema of the custom resource
+   */
+  public ObjectNode findSchema(String crd) {
+    String groupVersion = getGroupVersion(crd);
+    if (groupVersion == null) {
+      return null;
+    }
+    try {
+      JSonParser document = getDocument(groupVersion);
+      if (document == null) {
+        return null;
+      }
+      // resolving references modifies the document
+      synchronized (document) {
+        return document.findSchema(APIS_PATH + crd);
+      }
+    } catch (IOException e) {
+      LOGGER.warn(e.getLocalizedMessage(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Forgets the documents that were loaded. They are loaded again when a schema of their group/version is requested.
+   */
+  public synchronized void invalidate() {
+    documents.clear();
+    this.v3Discovery = null;
+    this.v2Document = null;
+  }
+
+  private static String getGroupVersion(String crd) {
+    String[] segments = crd.split("/", 3);
+    if (segments.length < 2) {
+      return null;
+    }
+    return segments[0] + '/' + segments[1];
+  }
+
+  private JSonParser getDocument(String groupVersion) throws IOException {
+    JSonParser document = documents.get(groupVersion);
+    if (document == null) {
+      // loaded outside of the map, loading blocks on the cluster
+      document = loadDocument(groupVersion);
+      if (document != null) {
+        JSonParser existing = documents.putIfAbsent(groupVersion, document);
+        if (existing != null) {
+          document = existing;
+        }
+      }
+    }
+    return document;
+  }
+
+  private JSonParser loadDocument(String groupVersion) throws IOException {
+    Optional<JsonNode> discovery = getV3Discovery();
+    if (discovery.isPresent()) {
+      String url = discovery.get().path(PATHS_FIELD).path(APIS_PATH.substring(1) + groupVersion)
+        .path(SERVER_RELATIVE_URL_FIELD)
+        .asText(V3_PATH + APIS_PATH + groupVersion);
+      JsonNode document = get(url);
+      return document == null ? null : new JSonParser(document);
+    } else {
+      return getV2Document().orElse(null);
+    }
+  }
+
+  private synchronized Optional<JsonNode> getV3Discovery() throws IOException {
+    if (v3Discovery == null) {
+      this.v3Discovery = Optional.ofNullable(get(V3_PATH));
+    }
+    return v3Discovery;
+  }
+
+  private synchronized Optional<JSonParser> getV2Document() throws IOException {
+    if (v2Document == null) {
+      LOGGER.debug("Cluster does not serve openapi v3, loading openapi v2.");
+      this.v2Document = Optional.ofNullable(get(V2_PATH)).map(JSonParser::new);
+    }
+    return v2Document;
+  }
+
+  private JsonNode get(String path) throws IOException {
+    HttpRequest request = client.getHttpClient().newHttpRequestBuilder()
+      .url(new URL(client.getMasterUrl(), path))
+      .build();
+    try {
+      HttpResponse<InputStream> response = client.getHttpClient().sendAsync(request, InputStream.class).get();
+      try (InputStream body = response.body()) {
+        if (response.isSuccessful()) {
+          return Serialization.json().readTree(body);
+        } else if (response.code() == HttpURLConnection.HTTP_NOT_FOUND) {
+          return null;
+        }
+        throw new IOException("Could not load " + path + ", status code " + response.code());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    }
+  }
+}
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.ClusterServiceVersion;
+import io.fabric8.openshift.client.impl.OpenShiftOperatorHubAPIGroupClient;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A catalog of the service templates that the operators in a namespace provide. It is fed by informers on the
+ * ClusterServiceVersions in the namespace and on the BindableKinds of the cluster. OLM copies the
+ * ClusterServiceVersion of an operator that watches other namespaces into each of them, so the ClusterServiceVersions
+ * in the namespace are the operators that can be used in it, each of them once. The namespace that is watched changes
+ * with the namespace that the templates are requested for. The templates are updated incrementally and reused,
+ * including their parsed samples and schemas, until their ClusterServiceVersion changes. A namespace that cannot be
+ * watched is not watched again before the back-off of {@link ComponentIndex.Failure} elapsed.
+ */
+public class ServiceTemplateCatalog implements AutoCloseable {
+
+  private static final String SUCCEEDED_PHASE = "Succeeded";
+  static final String BINDABLE_KINDS_API_VERSION = "binding.operators.coreos.com/v1alpha1";
+  static final String BINDABLE_KINDS_KIND = "BindableKinds";
+
+  private final InformerFactory<GenericKubernetesResource> bindableKindsInformerFactory;
+  private final InformerFactory<ClusterServiceVersion> serviceVersionsInformerFactory;
+  private final Function<List<GenericKubernetesResource>, List<GenericKubernetesResource>> bindableKindsMapper;
+  private final Function<List<GenericKubernetesResource>, ServiceTemplatesDeserializer> deserializerFactory;
+  private final LongSupplier clock;
+  private final Map<String, ComponentIndex.Failure> failures = new ConcurrentHashMap<>();
+  // replaced as a whole when all templates are parsed again, so that readers never see a partial catalog
+  private volatile Map<String, Entry> templates = new ConcurrentHashMap<>();
+  private volatile String namespace;
+  private List<GenericKubernetesResource> bindableKinds;
+  private ServiceTemplatesDeserializer deserializer;
+  private SharedIndexInformer<GenericKubernetesResource> bindableKindsInformer;
+  private SharedIndexInformer<ClusterServiceVersion> serviceVersionsInformer;
+
+  public ServiceTemplateCatalog(KubernetesClient client,
+                                Function<List<GenericKubernetesResource>, ServiceTemplatesDeserializer> deserializerFactory) {
+    this((namespace, handler) -> client.genericKubernetesResources(BINDABLE_KINDS_API_VERSION, BINDABLE_KINDS_KIND)
+        .inform(handler),
+      (namespace, handler) -> client.adapt(OpenShiftOperatorHubAPIGroupClient.class)
+        .clusterServiceVersions()
+        .inNamespace(namespace)
+        .inform(handler),
+      resources -> toBindableKinds(client, resources),
+      deserializerFactory,
+      System::currentTimeMillis);
+  }
+
+  ServiceTemplateCatalog(InformerFactory<GenericKubernetesResource> bindableKindsInformerFactory,
+                         InformerFactory<ClusterServiceVersion> serviceVersionsInformerFactory,
+                         Function<List<GenericKubernetesResource>, List<GenericKubernetesResource>> bindableKindsMapper,
+                         Function<List<GenericKubernetesResource>, ServiceTemplatesDeserializer> deserializerFactory,
+                         LongSupplier clock) {
+    this.bindableKindsInformerFactory = bindableKindsInformerFactory;
+    this.serviceVersionsInformerFactory = serviceVersionsInformerFactory;
+    this.bindableKindsMapper = bindableKindsMapper;
+    this.deserializerFactory = deserializerFactory;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the service templates in the given namespace. Starts watching the namespace if it isn't watched yet and
+   * stops watching the namespace that was watched before.
+   *
+   * @param namespace the namespace to return the service templates for
+   * @return the service templates in the namespace
+   * @throws KubernetesClientException if the ClusterServiceVersions or BindableKinds cannot be listed nor watched, also
+   * without trying again while backing off from such a failure
+   */
+  public List<ServiceTemplate> getServiceTemplates(String namespace) {
+    if (!namespace.equals(this.namespace)) {
+      start(namespace);
+    }
+    Map<String, Entry> current = templates;
+    List<ServiceTemplate> serviceTemplates = new ArrayList<>(current.size());
+    current.values().forEach(entry -> serviceTemplates.add(entry.template));
+    serviceTemplates.sort(Comparator.comparing(ServiceTemplate::getName));
+    return serviceTemplates;
+  }
+
+  private synchronized void start(String namespace) {
+    if (namespace.equals(this.namespace)) {
+      return;
+    }
+    ComponentIndex.Failure failure = failures.get(namespace);
+    if (failure != null
+      && failure.isBackingOff(clock.getAsLong())) {
+      // dont block on informers again for clusters without OLM or permissions
+      throw failure.getError();
+    }
+    try {
+      // inform() blocks until the initial list was received
+      if (bindableKindsInformer == null) {
+        this.bindableKindsInformer = bindableKindsInformerFactory.inform(null, new BindableKindsHandler());
+        this.bindableKinds = getBindableKinds();
+        this.deserializer = deserializerFactory.apply(bindableKinds);
+      }
+      if (serviceVersionsInformer != null) {
+        serviceVersionsInformer.close();
+        this.serviceVersionsInformer = null;
+      }
+      this.serviceVersionsInformer = serviceVersionsInformerFactory.inform(namespace, new ServiceVersionsHandler());
+      // handlers are notified asynchronously, parse the initial list right away
+      this.templates = parseAll();
+      this.namespace = namespace;
+    } catch (KubernetesClientException e) {
+      close();
+      failures.put(namespace, ComponentIndex.Failure.after(failure, e, clock.getAsLong()));
+      throw e;
+    }
+    failures.remove(namespace);
+  }
+
+  private List<GenericKubernetesResource> getBindableKinds() {
+    return bindableKindsMapper.apply(bindableKindsInformer.getStore().list());
+  }
+
+  /**
+   * Returns the kinds that are listed in the status of the given BindableKinds resources.
+   */
+  static List<GenericKubernetesResource> toBindableKinds(KubernetesClient client, List<GenericKubernetesResource> resources) {
+    List<GenericKubernetesResource> bindableKinds = new ArrayList<>();
+    for (GenericKubernetesResource resource : resources) {
+      JsonNode additionalPropertiesNode = client.getKubernetesSerialization().convertValue(resource.getAdditionalProperties(), JsonNode.class);
+      if (additionalPropertiesNode != null &&
+        additionalPropertiesNode.has("status")) {
+        for (JsonNode status : additionalPropertiesNode.get("status")) {
+          if (status.has("group") && status.has("kind") && status.has("version")) {
+            GenericKubernetesResource bindableKind = new GenericKubernetesResource();
+            bindableKind.setApiVersion(status.get("group").asText() + '/' + status.get("version").asText());
+            bindableKind.setKind(status.get("kind").asText());
+            bindableKinds.add(bindableKind);
+          }
+        }
+      }
+    }
+    return bindableKinds;
+  }
+
+  private Map<String, Entry> parseAll() {
+    Map<String, Entry> parsed = new ConcurrentHashMap<>();
+    // csvs are parsed independently, which scales with the cores
+    serviceVersionsInformer.getStore().list().parallelStream().forEach(serviceVersion -> parse(serviceVersion, parsed));
+    return parsed;
+  }
+
+  private synchronized void update(ClusterServiceVersion serviceVersion) {
+    if (isInNamespace(serviceVersion)) {
+      parse(serviceVersion, templates);
+    }
+  }
+
+  private void parse(ClusterServiceVersion serviceVersion, Map<String, Entry> templates) {
+    String key = getKey(serviceVersion);
+    String resourceVersion = serviceVersion.getMetadata().getResourceVersion();
+    Entry existing = templates.get(key);
+    if (existing != null
+      && Objects.equals(existing.resourceVersion, resourceVersion)) {
+      // already parsed
+      return;
+    }
+    ServiceTemplate template = null;
+    if (deserializer != null
+      && serviceVersion.getStatus() != null
+      && SUCCEEDED_PHASE.equals(serviceVersion.getStatus().getPhase())) {
+      template = deserializer.fromPOJO(serviceVersion);
+    }
+    if (template != null) {
+      templates.put(key, new Entry(resourceVersion, template));
+    } else {
+      templates.remove(key);
+    }
+  }
+
+  private synchronized void remove(ClusterServiceVersion serviceVersion) {
+    if (isInNamespace(serviceVersion)) {
+      templates.remove(getKey(serviceVersion));
+    }
+  }
+
+  private boolean isInNamespace(ClusterServiceVersion serviceVersion) {
+    // the informer of the previously watched namespace may still notify
+    return Objects.equals(namespace, serviceVersion.getMetadata().getNamespace());
+  }
+
+  private synchronized void bindableKindsChanged() {
+    if (bindableKindsInformer == null) {
+      return;
+    }
+    List<GenericKubernetesResource> changed = getBindableKinds();
+    if (changed.equals(bindableKinds)) {
+      return;
+    }
+    this.bindableKinds = changed;
+    this.deserializer = deserializerFactory.apply(changed);
+    if (serviceVersionsInformer != null) {
+      this.templates = parseAll();
+    }
+  }
+
+  private static String getKey(ClusterServiceVersion serviceVersion) {
+    return serviceVersion.getMetadata().getName();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (serviceVersionsInformer != null) {
+      serviceVersionsInformer.close();
+      this.serviceVersionsInformer = null;
+    }
+    if (bindableKindsInformer != null) {
+      bindableKindsInformer.close();
+      this.bindableKindsInformer = null;
+    }
+    this.namespace = null;
+    this.templates = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Starts an informer on the resources of the given kind in a namespace.
+   */
+  @FunctionalInterface
+  interface InformerFactory<T extends HasMetadata> {
+    SharedIndexInformer<T> inform(String namespace, ResourceEventHandler<T> handler);
+  }
+
+  private static final class Entry {
+
+    private final String resourceVersion;
+    private final ServiceTemplate template;
+
+    private Entry(String resourceVersion, ServiceTemplate template) {
+      this.resourceVersion = resourceVersion;
+      this.template = template;
+    }
+  }
+
+  private class ServiceVersionsHandler implements ResourceEventHandler<ClusterServiceVersion> {
+
+    @Override
+    public void onAdd(ClusterServiceVersion serviceVersion) {
+      update(serviceVersion);
+    }
+
+    @Override
+    public void onUpdate(ClusterServiceVersion oldServiceVersion, ClusterServiceVersion newServiceVersion) {
+      // resyncs deliver unchanged resources, dont parse them again
+      if (!Objects.equals(oldServiceVersion.getMetadata().getResourceVersion(), newServiceVersion.getMetadata().getResourceVersion())) {
+        update(newServiceVersion);
+      }
+    }
+
+    @Override
+    public void onDelete(ClusterServiceVersion serviceVersion, boolean deletedFinalStateUnknown) {
+      remove(serviceVersion);
+    }
+  }
+
+  private class BindableKindsHandler implements ResourceEventHandler<GenericKubernetesResource> {
+
+    @Override
+    public void onAdd(GenericKubernetesResource resource) {
+      bindableKindsChanged();
+    }
+
+    @Override
+    public void onUpdate(GenericKubernetesResource oldResource, GenericKubernetesResource newResource) {
+      if (!Objects.equals(oldResource.getMetadata().getResourceVersion(), newResource.getMetadata().getResourceVersion())) {
+        bindableKindsChanged();
+      }
+    }
+
+    @Override
+    public void onDelete(GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
+      bindableKindsChanged();
+    }
+  }
+}
@@ -23,8 +23,12 @@ import io.fabric8.openshift.api.model.operatorhub.v1alpha1.SpecDescriptor;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -36,12 +40,20 @@ public class ServiceTemplatesDeserializer  {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private final Function<String, ObjectNode> schemaMapper;
-    private final List<GenericKubernetesResource> bindableKinds;
+    private final Map<String, Set<String>> bindableApiVersionsByKind;
+    private final CRDSchemaCache schemaCache;
 
     public ServiceTemplatesDeserializer(Function<String, ObjectNode> schemaMapper,
                                         List<GenericKubernetesResource> bindableKinds) {
+        this(schemaMapper, bindableKinds, null);
+    }
+
+    public ServiceTemplatesDeserializer(Function<String, ObjectNode> schemaMapper,
+                                        List<GenericKubernetesResource> bindableKinds,
+                                        CRDSchemaCache schemaCache) {
         this.schemaMapper = schemaMapper;
-        this.bindableKinds = bindableKinds;
+        this.bindableApiVersionsByKind = indexByKind(bindableKinds);
+        this.schemaCache = schemaCache;
     }
 
     private List<OperatorCRDSpecDescriptor> getSpecDescriptors(CRDDescription node) {
@@ -120,14 +132,23 @@ public class ServiceTemplatesDeserializer  {
             @Override
             public ObjectNode getSchema() {
                 if (schema == null) {
-                    schema = schemaMapper.apply(getCRDPrefix(this) + "/namespaces/{namespace}/" + getCRDSuffix(this));
-                    if (schema != null) {
-                        schema = SchemaHelper.getAnnotatedSchema(schema, getSpecDescriptors());
+                    if (schemaCache != null) {
+                        schema = schemaCache.get(getName(), getVersion(), getSpecDescriptors(), this::loadSchema);
+                    } else {
+                        schema = loadSchema();
                     }
                 }
                 return schema;
             }
 
+            private ObjectNode loadSchema() {
+                ObjectNode loaded = schemaMapper.apply(getCRDPrefix(this) + "/namespaces/{namespace}/" + getCRDSuffix(this));
+                if (loaded != null) {
+                    loaded = SchemaHelper.getAnnotatedSchema(loaded, getSpecDescriptors());
+                }
+                return loaded;
+            }
+
             @Override
             public List<OperatorCRDSpecDescriptor> getSpecDescriptors() {
                 return descriptors;
@@ -135,9 +156,22 @@ public class ServiceTemplatesDeserializer  {
         };
     }
 
+    private static Map<String, Set<String>> indexByKind(List<GenericKubernetesResource> bindableKinds) {
+        Map<String, Set<String>> index = new HashMap<>();
+        for (GenericKubernetesResource bindableKind : bindableKinds) {
+            index.computeIfAbsent(bindableKind.getKind(), kind -> new HashSet<>()).add(bindableKind.getApiVersion());
+        }
+        return index;
+    }
+
     private boolean isBindable(CRDDescription crd) {
+        Set<String> apiVersions = bindableApiVersionsByKind.get(crd.getKind());
+        if (apiVersions == null) {
+            // most CRDs are not bindable, dont compute their api version
+            return false;
+        }
         String apiVersion = crd.getName().substring(crd.getName().indexOf('.') + 1) + '/' + crd.getVersion();
-        return bindableKinds.stream().anyMatch(bk -> bk.getKind().equals(crd.getKind()) && bk.getApiVersion().equals(apiVersion));
+        return apiVersions.contains(apiVersion);
     }
 
     public ServiceTemplate fromPOJO(ClusterServiceVersion csv) {
@@ -212,7 +246,9 @@ public class ServiceTemplatesDeserializer  {
     }
 
     public List<ServiceTemplate> fromList(ClusterServiceVersionList list) {
-        return list.getItems().stream().filter(csv -> csv.getStatus() != null &&
+        // csvs are parsed independently (alm-examples), order is kept by the collector.
+        // fromPOJO only reads the bindable kinds index, which isn't modified once built, concurrent calls are safe
+        return list.getItems().parallelStream().filter(csv -> csv.getStatus() != null &&
                 "Succeeded".equals(csv.getStatus().getPhase()))
                 .map(this::fromPOJO)
                 .filter(Objects::nonNull)
@@ -179,6 +179,40 @@ public class ApplicationRootNodeOdoTest {
       updatedComponent2);
   }
 
+  @Test
+  public void getComponents_should_not_modify_components_retrieved_from_odo() throws IOException {
+    // given
+    String project = "project";
+    Component clusterComponent = Component.of("name3", "managedBy3", new ComponentFeatures(), "path3", null);
+    List<Component> clusterComponents = new ArrayList<>(List.of(clusterComponent));
+    doReturn(clusterComponents)
+      .when(odo).getComponentsOnCluster(project);
+    mockGetComponents(new ComponentDescriptor(
+      clusterComponent.getName(),
+      "updatedPath",
+      null,
+      null), rootNode);
+    // when
+    List<Component> components = rootNodeOdo.getComponents(project);
+    // then
+    assertThat(clusterComponents).containsExactly(clusterComponent);
+    assertThat(clusterComponent.getPath()).isEqualTo("path3");
+    assertThat(components.get(0).getPath()).isEqualTo("updatedPath");
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void getComponents_should_return_unmodifiable_list() throws IOException {
+    // given
+    String project = "project";
+    doReturn(new ArrayList<>(List.of(COMPONENT1)))
+      .when(odo).getComponentsOnCluster(project);
+    mockGetComponents(toDescriptor(COMPONENT2), rootNode);
+    // when
+    List<Component> components = rootNodeOdo.getComponents(project);
+    // then
+    components.add(COMPONENT2);
+  }
+
   private ComponentDescriptor toDescriptor(Component component) {
     return new ComponentDescriptor(
       component.getName(),
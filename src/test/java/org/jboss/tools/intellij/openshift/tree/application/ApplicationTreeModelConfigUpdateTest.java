@@ -29,7 +29,7 @@ import static org.mockito.Mockito.verify;
 
 public class ApplicationTreeModelConfigUpdateTest extends BasePlatformTestCase {
 
-    public void testShouldNotRefreshIfContextDoesntChange() {
+    public void testShouldNotResetIfContextDoesntChange() {
         // given
         String user = "papa-smurf";
         String cluster = "localhost";
@@ -45,24 +45,24 @@ public class ApplicationTreeModelConfigUpdateTest extends BasePlatformTestCase {
         AuthInfo authInfo2 = createAuthInfo(token);
         Config cfg2 = createConfig(ctx1, user, authInfo1);
         // when
-        model.onUpdate(null, cfg2);
+        model.applyConfig(cfg2);
         // then
-        verify(model, never()).refresh();
+        verify(model, never()).reset();
     }
 
-    public void testShouldRefreshIfContextUserChanges() {
+    public void testShouldResetIfContextUserChanges() {
         // given
         Context context = createContext();
         doReturn("papa-smurf","smurfette").when(context).getUser();
         Config config = createConfig(context);
         ApplicationsRootNode model = createApplicationsRootNode(getProject(), config);
         // when
-        model.onUpdate(null, config);
+        model.applyConfig(config);
         // then
-        verify(model).refresh();
+        verify(model).reset();
     }
 
-    public void testShouldRefreshIfContextClusterChanges() {
+    public void testShouldResetIfContextClusterChanges() {
         // given
         Context context = createContext();
         doReturn("localhost","www.openshift.com")
@@ -70,12 +70,12 @@ public class ApplicationTreeModelConfigUpdateTest extends BasePlatformTestCase {
         Config config = createConfig(context);
         ApplicationsRootNode model = createApplicationsRootNode(getProject(), config);
         // when
-        model.onUpdate(null, config);
+        model.applyConfig(config);
         // then
-        verify(model).refresh();
+        verify(model).reset();
     }
 
-    public void testShouldRefreshIfContextUserTokenChanges() {
+    public void testShouldNotResetIfContextUserTokenIsRotated() {
         // given
         String user = "papa-smurf";
         String cluster = "localhost";
@@ -90,12 +90,12 @@ public class ApplicationTreeModelConfigUpdateTest extends BasePlatformTestCase {
         AuthInfo authInfo2 = createAuthInfo("token2");
         Config cfg2 = createConfig(ctx2, user, authInfo2);
         // when
-        model.onUpdate(null, cfg2);
+        model.applyConfig(cfg2);
         // then
-        verify(model).refresh();
+        verify(model, never()).reset();
     }
 
-    public void testShouldRefreshIfContextUserLogout() {
+    public void testShouldResetIfContextUserLogout() {
         // given
         String user = "papa-smurf";
         String cluster = "localhost";
@@ -110,9 +110,9 @@ public class ApplicationTreeModelConfigUpdateTest extends BasePlatformTestCase {
         AuthInfo authInfo2 = createAuthInfo(null);
         Config cfg2 = createConfig(ctx2, user, authInfo2);
         // when
-        model.onUpdate(null, cfg2);
+        model.applyConfig(cfg2);
         // then
-        verify(model).refresh();
+        verify(model).reset();
     }
 
     protected ApplicationsRootNode createApplicationsRootNode(Project project, Config config) {
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ApplicationsRootNodeTest {
+
+  @Test
+  public void getDevfileDirectories_should_return_directories_of_changed_devfiles() {
+    // given
+    List<VFileEvent> events = List.of(
+      event("/projects/nodejs/devfile.yaml"),
+      event("/projects/quarkus/.devfile.yaml"),
+      event("/projects/quarkus/pom.xml"));
+    // when
+    Set<String> directories = ApplicationsRootNode.getDevfileDirectories(events);
+    // then
+    assertThat(directories).containsOnly("/projects/nodejs", "/projects/quarkus");
+  }
+
+  @Test
+  public void getDevfileDirectories_should_return_directories_of_devfiles_that_were_renamed() {
+    // given
+    List<VFileEvent> events = List.of(
+      rename("/projects/nodejs/devfile.yaml.bak", "devfile.yaml", "devfile.yaml.bak"),
+      rename("/projects/quarkus/devfile.yaml", "devfile.yml", "devfile.yaml"),
+      rename("/projects/python/README.txt", "README.md", "README.txt"));
+    // when
+    Set<String> directories = ApplicationsRootNode.getDevfileDirectories(events);
+    // then
+    assertThat(directories).containsOnly("/projects/nodejs", "/projects/quarkus");
+  }
+
+  @Test
+  public void getDevfileDirectories_should_return_empty_set_if_no_devfile_changed() {
+    // given
+    List<VFileEvent> events = List.of(event("/projects/nodejs/package.json"));
+    // when
+    Set<String> directories = ApplicationsRootNode.getDevfileDirectories(events);
+    // then
+    assertThat(directories).isEmpty();
+  }
+
+  private static VFileEvent event(String path) {
+    VFileEvent event = mock(VFileEvent.class);
+    when(event.getPath()).thenReturn(path);
+    return event;
+  }
+
+  private static VFileEvent rename(String path, String oldName, String newName) {
+    VFilePropertyChangeEvent event = mock(VFilePropertyChangeEvent.class);
+    when(event.getPath()).thenReturn(path);
+    when(event.isRename()).thenReturn(true);
+    when(event.getOldValue()).thenReturn(oldName);
+    when(event.getNewValue()).thenReturn(newName);
+    return event;
+  }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import org.jboss.tools.intellij.openshift.utils.odo.Binding;
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeatures;
+import org.jboss.tools.intellij.openshift.utils.odo.Odo;
+import org.jboss.tools.intellij.openshift.utils.odo.URL;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class ComponentDetailsLoaderTest {
+
+  private static final Component LOCAL_COMPONENT = Component.of(
+    "local",
+    "odo",
+    new ComponentFeatures(),
+    "path",
+    null);
+
+  private Odo odo;
+  private NamespaceNode namespace;
+  private ComponentDetailsLoader loader;
+
+  @Before
+  public void before() {
+    this.odo = mock(Odo.class);
+    this.namespace = new NamespaceNode(mock(ApplicationsRootNode.class), "namespace");
+    this.loader = new ComponentDetailsLoader(Runnable::run);
+  }
+
+  @Test
+  public void load_should_return_urls_and_bindings() throws IOException {
+    // given
+    URL url = mock(URL.class);
+    doReturn("url").when(url).getName();
+    Binding binding = mock(Binding.class);
+    doReturn("binding").when(binding).getName();
+    doReturn(List.of(url)).when(odo).listURLs("path");
+    doReturn(List.of(binding)).when(odo).listBindings("path");
+    // when
+    List<BaseNode<ComponentNode>> children = loader.load(new ComponentNode(namespace, LOCAL_COMPONENT), odo);
+    // then
+    assertThat(children).hasSize(2);
+    assertThat(children.get(0)).isInstanceOf(URLNode.class);
+    assertThat(children.get(1)).isInstanceOf(BindingNode.class);
+  }
+
+  @Test
+  public void load_should_return_urls_if_bindings_fail() throws IOException {
+    // given
+    URL url = mock(URL.class);
+    doReturn("url").when(url).getName();
+    doReturn(List.of(url)).when(odo).listURLs("path");
+    doThrow(new IOException("binding failed")).when(odo).listBindings("path");
+    // when
+    List<BaseNode<ComponentNode>> children = loader.load(new ComponentNode(namespace, LOCAL_COMPONENT), odo);
+    // then
+    assertThat(children).hasSize(1);
+    assertThat(children.get(0)).isInstanceOf(URLNode.class);
+  }
+
+  @Test
+  public void load_should_not_describe_more_components_concurrently_than_executor_allows() throws Exception {
+    // given
+    int threads = 2;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    ExecutorService expanding = Executors.newCachedThreadPool();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    doAnswer(invocation -> describe(running, maxRunning)).when(odo).listURLs(any());
+    doAnswer(invocation -> describe(running, maxRunning)).when(odo).listBindings(any());
+    ComponentDetailsLoader loader = new ComponentDetailsLoader(executor);
+    try {
+      // when
+      List<CompletableFuture<List<BaseNode<ComponentNode>>>> expansions = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        ComponentNode component = new ComponentNode(namespace, LOCAL_COMPONENT);
+        expansions.add(CompletableFuture.supplyAsync(() -> loader.load(component, odo), expanding));
+      }
+      for (CompletableFuture<List<BaseNode<ComponentNode>>> expansion : expansions) {
+        expansion.get(10, TimeUnit.SECONDS);
+      }
+      // then
+      assertThat(maxRunning.get()).isLessThanOrEqualTo(threads);
+    } finally {
+      executor.shutdownNow();
+      expanding.shutdownNow();
+    }
+  }
+
+  private static List<?> describe(AtomicInteger running, AtomicInteger maxRunning) throws InterruptedException {
+    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+    try {
+      Thread.sleep(20);
+    } finally {
+      running.decrementAndGet();
+    }
+    return List.of();
+  }
+}
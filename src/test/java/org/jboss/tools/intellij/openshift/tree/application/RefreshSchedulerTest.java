@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class RefreshSchedulerTest {
+
+  private ScheduledExecutorService executor;
+  private AtomicBoolean reachable;
+  private AtomicBoolean inTransition;
+  private AtomicBoolean visible;
+  private AtomicLong idleTime;
+  private RefreshScheduler scheduler;
+
+  @Before
+  public void before() {
+    this.executor = mock(ScheduledExecutorService.class);
+    doReturn(mock(ScheduledFuture.class)).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    this.reachable = new AtomicBoolean(true);
+    this.inTransition = new AtomicBoolean(false);
+    this.visible = new AtomicBoolean(true);
+    this.idleTime = new AtomicLong(0);
+    this.scheduler = new RefreshScheduler(executor, Runnable::run, reachable::get, inTransition::get, visible::get, idleTime::get);
+  }
+
+  @Test
+  public void start_should_schedule_poll_with_default_interval() {
+    // when
+    scheduler.start();
+    // then
+    verify(executor).schedule(any(Runnable.class), eq(RefreshScheduler.DEFAULT_INTERVAL), eq(TimeUnit.MILLISECONDS));
+    assertThat(scheduler.isStarted()).isTrue();
+  }
+
+  @Test
+  public void start_should_schedule_poll_with_transition_interval_if_component_is_processing() {
+    // given
+    inTransition.set(true);
+    // when
+    scheduler.start();
+    // then
+    verify(executor).schedule(any(Runnable.class), eq(RefreshScheduler.TRANSITION_INTERVAL), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void poll_should_stop_if_cluster_is_unreachable() {
+    // given
+    reachable.set(false);
+    scheduler.start();
+    // when
+    poll();
+    // then
+    assertThat(scheduler.isStarted()).isFalse();
+  }
+
+  @Test
+  public void poll_should_back_off_if_tool_window_is_hidden() {
+    // given
+    visible.set(false);
+    scheduler.start();
+    // when
+    poll();
+    // then
+    assertThat(scheduler.getInterval()).isEqualTo(RefreshScheduler.DEFAULT_INTERVAL * 2);
+  }
+
+  @Test
+  public void poll_should_back_off_to_max_interval_if_idle() {
+    // given
+    idleTime.set(RefreshScheduler.IDLE_THRESHOLD + 1);
+    scheduler.start();
+    // when
+    for (int i = 0; i < 10; i++) {
+      poll();
+    }
+    // then
+    assertThat(scheduler.getInterval()).isEqualTo(RefreshScheduler.MAX_INTERVAL);
+  }
+
+  @Test
+  public void poll_should_reset_interval_if_visible_again() {
+    // given
+    visible.set(false);
+    scheduler.start();
+    poll();
+    visible.set(true);
+    // when
+    poll();
+    // then
+    assertThat(scheduler.getInterval()).isEqualTo(RefreshScheduler.DEFAULT_INTERVAL);
+  }
+
+  private void poll() {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor, atLeastOnce()).schedule(captor.capture(), anyLong(), any(TimeUnit.class));
+    captor.getValue().run();
+  }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.jboss.tools.intellij.openshift.utils.helm.ChartRelease;
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeature;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeatures;
+import org.jboss.tools.intellij.openshift.utils.odo.Service;
+import org.jboss.tools.intellij.openshift.utils.odo.URL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class TreeSnapshotStoreTest {
+
+  private File directory;
+  private ApplicationsRootNode root;
+  private TreeSnapshotStore store;
+
+  @Before
+  public void before() throws IOException {
+    this.directory = FileUtil.createTempDirectory("tree-snapshot-test", "");
+    this.root = mock(ApplicationsRootNode.class);
+    this.store = new TreeSnapshotStore(directory.toPath());
+  }
+
+  @After
+  public void after() {
+    FileUtil.delete(directory);
+  }
+
+  @Test
+  public void load_should_return_null_if_nothing_was_saved() {
+    assertThat(store.load(root, "project-context")).isNull();
+  }
+
+  @Test
+  public void load_should_return_saved_nodes_as_stale() {
+    // given
+    NamespaceNode namespace = new NamespaceNode(root, "namespace");
+    ComponentNode component = new ComponentNode(namespace,
+      Component.of("component", "odo", new ComponentFeatures(ComponentFeature.DEV), "path", null));
+    URLNode url = new URLNode(component, URL.of("url", "localhost", "20001", "8080", "/"));
+    ServiceNode service = new ServiceNode(namespace, Service.of("service", "kafka.strimzi.io/v1beta2", "Kafka"));
+    ChartRelease release = new ChartRelease();
+    release.setName("release");
+    release.setRevision("2");
+    ChartReleaseNode releaseNode = new ChartReleaseNode(namespace, release);
+    Map<Object, List<Object>> children = new HashMap<>();
+    children.put(namespace, List.of(component, service, releaseNode));
+    children.put(component, List.of(url));
+    // when
+    store.save("project-context", namespace, node -> children.getOrDefault(node, Collections.emptyList()));
+    TreeSnapshotStore.PersistedTree tree = store.load(root, "project-context");
+    // then
+    assertThat(tree).isNotNull();
+    assertThat(tree.getNamespace()).isEqualTo(namespace);
+    assertThat(tree.getNamespace().isStale()).isTrue();
+    List<Object> namespaceChildren = tree.getChildren().get(namespace);
+    assertThat(namespaceChildren).containsExactly(component, service, releaseNode);
+    ComponentNode loadedComponent = (ComponentNode) namespaceChildren.get(0);
+    assertThat(loadedComponent.isStale()).isTrue();
+    assertThat(loadedComponent.getComponent().getLiveFeatures().isDev()).isTrue();
+    assertThat(loadedComponent.getComponent().getPath()).isEqualTo("path");
+    URLNode loadedUrl = (URLNode) tree.getChildren().get(component).get(0);
+    assertThat(loadedUrl.getUrl().getLocalPort()).isEqualTo("20001");
+    assertThat(((ServiceNode) namespaceChildren.get(1)).getService().getKind()).isEqualTo("Kafka");
+    assertThat(((ChartReleaseNode) namespaceChildren.get(2)).getRelease().getRevision()).isEqualTo("2");
+  }
+
+  @Test
+  public void load_should_return_null_for_other_key() {
+    // given
+    NamespaceNode namespace = new NamespaceNode(root, "namespace");
+    store.save("project-context", namespace, node -> Collections.emptyList());
+    // when
+    TreeSnapshotStore.PersistedTree tree = store.load(root, "project-other");
+    // then
+    assertThat(tree).isNull();
+  }
+}
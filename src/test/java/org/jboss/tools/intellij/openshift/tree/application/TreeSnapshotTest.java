@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.tree.application;
+
+import org.jboss.tools.intellij.openshift.utils.odo.Component;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeature;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentFeatures;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentInfo;
+import org.jboss.tools.intellij.openshift.utils.odo.ComponentKind;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class TreeSnapshotTest {
+
+  private NamespaceNode namespace;
+  private TreeSnapshot snapshot;
+
+  @Before
+  public void before() {
+    this.namespace = new NamespaceNode(mock(ApplicationsRootNode.class), "namespace");
+    this.snapshot = new TreeSnapshot();
+  }
+
+  @Test
+  public void update_should_return_empty_diff_if_children_are_unchanged() {
+    // given
+    ComponentNode component = component("component", new ComponentFeatures());
+    snapshot.record(namespace, new Object[]{component});
+    // when
+    TreeSnapshot.Diff diff = snapshot.update(namespace, new Object[]{component("component", new ComponentFeatures())});
+    // then
+    assertThat(diff.isEmpty()).isTrue();
+    assertThat(snapshot.getChildren(namespace)).containsExactly(component);
+    assertThat(snapshot.getChildren(namespace).get(0)).isSameAs(component);
+    assertThat(snapshot.takePending(namespace)).isNull();
+  }
+
+  @Test
+  public void update_should_return_empty_diff_if_reloaded_children_have_equal_info() {
+    // given
+    ComponentNode component = component("component", new ComponentFeatures(), info());
+    snapshot.record(namespace, new Object[]{component});
+    // when
+    TreeSnapshot.Diff diff = snapshot.update(namespace, new Object[]{component("component", new ComponentFeatures(), info())});
+    // then
+    assertThat(diff.isEmpty()).isTrue();
+    assertThat(diff.getModified()).isEmpty();
+    assertThat(snapshot.getChildren(namespace).get(0)).isSameAs(component);
+  }
+
+  @Test
+  public void update_should_report_added_and_removed_children() {
+    // given
+    ComponentNode removed = component("removed", new ComponentFeatures());
+    ComponentNode kept = component("kept", new ComponentFeatures());
+    snapshot.record(namespace, new Object[]{removed, kept});
+    ComponentNode added = component("added", new ComponentFeatures());
+    // when
+    TreeSnapshot.Diff diff = snapshot.update(namespace, new Object[]{component("kept", new ComponentFeatures()), added});
+    // then
+    assertThat(diff.isStructureChanged()).isTrue();
+    assertThat(diff.getAdded()).containsExactly(added);
+    assertThat(diff.getRemoved()).containsExactly(removed);
+    assertThat(diff.getModified()).isEmpty();
+    Object[] pending = snapshot.takePending(namespace);
+    assertThat(pending).containsOnly(kept, added);
+    assertThat(pending[0]).isSameAs(kept);
+    assertThat(snapshot.takePending(namespace)).isNull();
+  }
+
+  @Test
+  public void update_should_update_modified_children_in_place() {
+    // given
+    ComponentNode component = component("component", new ComponentFeatures());
+    snapshot.record(namespace, new Object[]{component});
+    ComponentFeatures dev = new ComponentFeatures();
+    dev.addFeature(ComponentFeature.DEV);
+    // when
+    TreeSnapshot.Diff diff = snapshot.update(namespace, new Object[]{component("component", dev)});
+    // then
+    assertThat(diff.isStructureChanged()).isFalse();
+    assertThat(diff.getModified()).containsExactly(component);
+    assertThat(diff.getModified().get(0)).isSameAs(component);
+    assertThat(component.getComponent().getLiveFeatures()).isEqualTo(dev);
+  }
+
+  @Test
+  public void update_should_forget_children_of_removed_children() {
+    // given
+    ComponentNode component = component("component", new ComponentFeatures());
+    snapshot.record(namespace, new Object[]{component});
+    snapshot.record(component, new Object[0]);
+    // when
+    snapshot.update(namespace, new Object[0]);
+    // then
+    assertThat(snapshot.contains(namespace)).isTrue();
+    assertThat(snapshot.contains(component)).isFalse();
+  }
+
+  private ComponentNode component(String name, ComponentFeatures features) {
+    return component(name, features, null);
+  }
+
+  private ComponentNode component(String name, ComponentFeatures features, ComponentInfo info) {
+    return new ComponentNode(namespace, Component.of(name, "odo", features, "path", info));
+  }
+
+  private static ComponentInfo info() {
+    return new ComponentInfo.Builder()
+      .withComponentKind(ComponentKind.DEVFILE)
+      .withComponentTypeName("nodejs")
+      .withLanguage("javascript")
+      .withSupportedFeatures(List.of(ComponentFeature.Mode.DEV_MODE))
+      .build();
+  }
+}
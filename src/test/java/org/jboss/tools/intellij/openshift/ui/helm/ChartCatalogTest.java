@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import org.jboss.tools.intellij.openshift.utils.helm.Chart;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ChartCatalogTest {
+
+  private static final List<Chart> CHARTS = List.of(
+    new Chart("jedi/yoda", "1.0", "jedi", List.of("master")),
+    new Chart("jedi/yoda", "1.2", "jedi", List.of("master", "green")),
+    new Chart("jedi/yoda", "1.2", "jedi", List.of("master")),
+    new Chart("jedi/luke", "1.1", "jedi"));
+
+  @Test
+  public void get_should_group_charts_by_name_with_distinct_sorted_versions_and_all_keywords() {
+    // given
+    // when
+    ChartCatalog catalog = ChartCatalog.get("group", CHARTS);
+    // then
+    assertThat(catalog.getCharts()).hasSize(2);
+    ChartVersions yoda = catalog.getCharts().stream()
+      .filter(chart -> chart.getName().equals("jedi/yoda"))
+      .findFirst()
+      .orElseThrow();
+    assertThat(yoda.getVersions()).containsExactly("1.2", "1.0");
+    assertThat(yoda.getKeywords()).containsOnly("master", "green");
+    assertThat(catalog.getSearchIndex().size()).isEqualTo(2);
+  }
+
+  @Test
+  public void get_should_return_same_catalog_if_charts_did_not_change() {
+    // given
+    ChartCatalog catalog = ChartCatalog.get("reuse", CHARTS);
+    // when
+    ChartCatalog same = ChartCatalog.get("reuse", new ArrayList<>(CHARTS));
+    // then
+    assertThat(same).isSameAs(catalog);
+  }
+
+  @Test
+  public void get_should_build_new_catalog_if_charts_changed() {
+    // given
+    ChartCatalog catalog = ChartCatalog.get("change", CHARTS);
+    List<Chart> changed = new ArrayList<>(CHARTS);
+    changed.add(new Chart("jedi/obiwan", "1.0", "jedi"));
+    // when
+    ChartCatalog rebuilt = ChartCatalog.get("change", changed);
+    // then
+    assertThat(rebuilt).isNotSameAs(catalog);
+    assertThat(rebuilt.getCharts()).hasSize(3);
+  }
+
+  @Test
+  public void retain_should_forget_catalogs_of_removed_repositories() {
+    // given
+    ChartCatalog kept = ChartCatalog.get("kept", CHARTS);
+    ChartCatalog removed = ChartCatalog.get("removed", CHARTS);
+    // when
+    ChartCatalog.retain(List.of("kept"));
+    // then
+    assertThat(ChartCatalog.get("kept", CHARTS)).isSameAs(kept);
+    assertThat(ChartCatalog.get("removed", CHARTS)).isNotSameAs(removed);
+  }
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import com.intellij.openapi.util.TextRange;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ChartSearchIndexTest {
+
+  private static final int NGINX = 0;
+  private static final int NGINX_INGRESS = 1;
+  private static final int REDIS = 2;
+  private static final int WORDPRESS = 3;
+
+  private final ChartSearchIndex index = new ChartSearchIndex(List.of(
+    new ChartVersions("bitnami/nginx", "NGINX Open Source is a web server.", List.of("15.4.0"), List.of("http", "web")),
+    new ChartVersions("bitnami/nginx-ingress-controller", "An Ingress controller using NGINX.", List.of("9.9.3"), List.of("ingress")),
+    new ChartVersions("bitnami/redis", "Redis(R) is an open source key-value store.", List.of("18.1.0"), List.of("database", "cache")),
+    new ChartVersions("bitnami/wordpress", "WordPress is a web publishing platform.", List.of("18.0.0"), List.of("blog", "http"))));
+
+  @Test
+  public void search_should_match_all_if_query_is_blank() {
+    // given
+    // when
+    ChartSearchIndex.Result result = index.search("  ");
+    // then
+    assertThat(result.isAll()).isTrue();
+    assertThat(result.matches(REDIS)).isTrue();
+    assertThat(result.getTerms()).isEmpty();
+  }
+
+  @Test
+  public void search_should_match_substring_in_name_description_and_keywords() {
+    // given
+    // when
+    ChartSearchIndex.Result result = index.search("NGIN");
+    // then
+    assertThat(result.getCount()).isEqualTo(2);
+    assertThat(result.matches(NGINX)).isTrue();
+    assertThat(result.matches(NGINX_INGRESS)).isTrue();
+    assertThat(result.matches(REDIS)).isFalse();
+  }
+
+  @Test
+  public void search_should_not_match_if_only_trigrams_of_the_term_are_present() {
+    // given "ore" and "red" are both in "redis(r) is an open source key-value store."
+    // when
+    ChartSearchIndex.Result result = index.search("ored");
+    // then
+    assertThat(result.getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void search_should_match_short_term_at_word_start_only() {
+    // given
+    // when
+    ChartSearchIndex.Result result = index.search("we");
+    // then
+    assertThat(result.matches(NGINX)).isTrue();
+    assertThat(result.matches(WORDPRESS)).isTrue();
+    assertThat(result.matches(NGINX_INGRESS)).isFalse();
+    assertThat(result.matches(REDIS)).isFalse();
+  }
+
+  @Test
+  public void search_should_match_all_terms() {
+    // given
+    // when
+    ChartSearchIndex.Result result = index.search("http web");
+    // then
+    assertThat(result.getCount()).isEqualTo(2);
+    assertThat(result.matches(NGINX)).isTrue();
+    assertThat(result.matches(WORDPRESS)).isTrue();
+  }
+
+  @Test
+  public void search_should_rank_exact_name_before_name_prefix_before_description() {
+    // given
+    // when
+    ChartSearchIndex.Result result = index.search("nginx");
+    // then
+    assertThat(result.getRank(NGINX)).isGreaterThan(result.getRank(NGINX_INGRESS));
+    assertThat(result.getRank(NGINX_INGRESS)).isGreaterThan(0);
+    assertThat(result.getRank(REDIS)).isEqualTo(-1);
+  }
+
+  @Test
+  public void search_should_rank_keyword_before_description() {
+    // given
+    // when
+    ChartSearchIndex.Result keyword = index.search("cache");
+    ChartSearchIndex.Result description = index.search("store");
+    // then
+    assertThat(keyword.getRank(REDIS)).isGreaterThan(description.getRank(REDIS));
+  }
+
+  @Test
+  public void getMatchingRanges_should_merge_overlapping_matches() {
+    // given
+    // when
+    List<TextRange> ranges = ChartSearchIndex.getMatchingRanges("NGINX Open Source", List.of("ngi", "ginx", "sou"));
+    // then
+    assertThat(ranges).containsExactly(new TextRange(0, 5), new TextRange(11, 14));
+  }
+}
@@ -82,4 +82,20 @@ public class ChartVersionsTest {
     // then
     assertThat(byName).hasSize(3);
   }
+
+  @Test
+  public void toChartVersions_should_sort_by_name() {
+    // given
+    List<Chart> charts = Arrays.asList(
+      new Chart("yoda", "1.0", "jedi"),
+      new Chart("lord/vader", "1.1", "sith"),
+      new Chart("luke", "1.0", "jedi"),
+      new Chart("lord/sidius", "1.0", "sith"),
+      new Chart("lord/vader", "1.2", "sith"));
+    // when
+    List<ChartVersions> byName = ChartVersions.toChartVersions(charts);
+    // then
+    assertThat(byName.stream().map(ChartVersions::getName).toList())
+      .containsExactly("lord/sidius", "lord/vader", "luke", "yoda");
+  }
 }
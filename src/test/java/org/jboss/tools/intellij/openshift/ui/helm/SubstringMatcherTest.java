@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SubstringMatcherTest {
+
+  private final SubstringMatcher matcher = new SubstringMatcher(List.of(
+    "Jenkins",
+    "-eap",
+    "ibm-oms-",
+    "oms",
+    "wildFly"));
+
+  @Test
+  public void find_should_ignore_case() {
+    assertThat(matcher.find("redhat/JENKINS", null)).isEqualTo(0);
+    assertThat(matcher.find("Wildfly server", null)).isEqualTo(4);
+  }
+
+  @Test
+  public void find_should_return_lowest_index_of_contained_substrings() {
+    // given "oms" is found before "-eap" in the text
+    // when
+    int found = matcher.find("oms-eap", null);
+    // then
+    assertThat(found).isEqualTo(1);
+  }
+
+  @Test
+  public void find_should_match_substring_that_is_suffix_of_another_one() {
+    // given "ibm-oms-" is not complete but its suffix "oms" is
+    // when
+    int found = matcher.find("ibm-omsx", null);
+    // then
+    assertThat(found).isEqualTo(3);
+  }
+
+  @Test
+  public void find_should_match_substring_spanning_text_and_continuation() {
+    assertThat(matcher.find("jboss-e", "ap 7.4")).isEqualTo(1);
+  }
+
+  @Test
+  public void find_should_return_minus_one_if_no_substring_is_contained() {
+    assertThat(matcher.find("bitnami/nginx", "NGINX Open Source – a web server")).isEqualTo(-1);
+    assertThat(matcher.find(null, null)).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.ui.helm;
+
+import com.intellij.webcore.packaging.PackageVersionComparator;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class VersionKeyTest {
+
+  private static final List<String> VERSIONS = List.of(
+    "1.0",
+    "1.0.0",
+    "1.0.1",
+    "1.10.0",
+    "1.9.12",
+    "v1.13.2",
+    "4.9.7-debian-9",
+    "4.9.7",
+    "2.0.0-rc1",
+    "2.0.0-rc.1",
+    "2.0.0-pre",
+    "2.0.0-dev",
+    "2.0.0-alpha",
+    "2.0.0-RC1",
+    "2.0.0+build.7",
+    "2023.10.1",
+    "0.0.0",
+    "99999999999999999999");
+
+  @Test
+  public void compareTo_should_order_as_package_version_comparator() {
+    PackageVersionComparator comparator = new PackageVersionComparator();
+    for (String version1 : VERSIONS) {
+      for (String version2 : VERSIONS) {
+        // when
+        int expected = Integer.signum(comparator.compare(version1, version2));
+        int actual = Integer.signum(VersionKey.parse(version1).compareTo(VersionKey.parse(version2)));
+        // then
+        assertThat(actual)
+          .as(version1 + " compared to " + version2)
+          .isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void compareTo_should_ignore_trailing_zeros() {
+    assertThat(VersionKey.parse("1.0.0").compareTo(VersionKey.parse("1"))).isEqualTo(0);
+  }
+
+  @Test
+  public void compareTo_should_ignore_zeros_before_qualifier() {
+    assertThat(VersionKey.parse("1.0-rc1").compareTo(VersionKey.parse("1.0.0-rc1"))).isEqualTo(0);
+    assertThat(VersionKey.parse("1-rc1").compareTo(VersionKey.parse("1.0.0-rc1"))).isEqualTo(0);
+  }
+
+  @Test
+  public void compareTo_should_ignore_case_of_qualifiers() {
+    assertThat(VersionKey.parse("2.0.0-RC1").compareTo(VersionKey.parse("2.0.0-rc1"))).isEqualTo(0);
+    assertThat(VersionKey.parse("1.0-SNAPSHOT").compareTo(VersionKey.parse("1.0.0-snapshot"))).isEqualTo(0);
+  }
+
+  @Test
+  public void compareTo_should_sort_uppercase_release_candidate_before_release() {
+    assertThat(VersionKey.parse("2.0.0-RC1").compareTo(VersionKey.parse("2.0.0"))).isLessThan(0);
+    assertThat(VersionKey.parse("2.0.0-RC1").compareTo(VersionKey.parse("2.0.0-alpha"))).isGreaterThan(0);
+  }
+
+  @Test
+  public void compareTo_should_sort_release_candidate_before_release() {
+    assertThat(VersionKey.parse("2.0.0-rc1").compareTo(VersionKey.parse("2.0.0"))).isLessThan(0);
+  }
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class CliCacheTest {
+
+  private static final String GROUP = "describe component";
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private CliCache cache;
+
+  @Before
+  public void before() {
+    this.cache = new CliCache(clock::get)
+      .withTimeToLive(GROUP, 10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void get_should_load_value_only_once_while_it_is_valid() throws IOException {
+    // given
+    CliCache.Key key = new CliCache.Key(GROUP, "/tmp", "ctx", "describe", "component");
+    // when
+    cache.get(key, this::load);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+    String value = cache.get(key, this::load);
+    // then
+    assertThat(value).isEqualTo("value1");
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  public void get_should_reload_value_once_it_expired() throws IOException {
+    // given
+    CliCache.Key key = new CliCache.Key(GROUP, "/tmp", "ctx", "describe", "component");
+    cache.get(key, this::load);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    // when
+    String value = cache.get(key, this::load);
+    // then
+    assertThat(value).isEqualTo("value2");
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  public void get_should_not_cache_groups_without_time_to_live() throws IOException {
+    // given
+    CliCache.Key key = new CliCache.Key("list", "/tmp", "ctx", "list");
+    // when
+    cache.get(key, this::load);
+    cache.get(key, this::load);
+    // then
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.getHits()).isEqualTo(0);
+  }
+
+  @Test
+  public void get_should_use_kube_context_as_part_of_the_key() throws IOException {
+    // given
+    cache.get(new CliCache.Key(GROUP, "/tmp", "ctx1", "describe", "component"), this::load);
+    // when
+    String value = cache.get(new CliCache.Key(GROUP, "/tmp", "ctx2", "describe", "component"), this::load);
+    // then
+    assertThat(value).isEqualTo("value2");
+  }
+
+  @Test
+  public void invalidate_should_only_remove_entries_of_given_working_directory() throws IOException {
+    // given
+    CliCache.Key key1 = new CliCache.Key(GROUP, "/tmp/1", "ctx", "describe", "component");
+    CliCache.Key key2 = new CliCache.Key(GROUP, "/tmp/2", "ctx", "describe", "component");
+    cache.get(key1, this::load);
+    cache.get(key2, this::load);
+    // when
+    cache.invalidate(GROUP, "/tmp/1");
+    // then
+    assertThat(cache.<String>get(key1, this::load)).isEqualTo("value3");
+    assertThat(cache.<String>get(key2, this::load)).isEqualTo("value2");
+  }
+
+  @Test
+  public void invalidateGroups_should_remove_all_entries_of_given_groups() throws IOException {
+    // given
+    CliCache.Key key = new CliCache.Key(GROUP, "/tmp", "ctx", "describe", "component");
+    cache.get(key, this::load);
+    // when
+    cache.invalidateGroups(GROUP);
+    // then
+    assertThat(cache.<String>get(key, this::load)).isEqualTo("value2");
+  }
+
+  @Test
+  public void get_should_not_share_load_that_started_before_invalidation() throws Exception {
+    // given
+    CliCache.Key key = new CliCache.Key(GROUP, "/tmp", "ctx", "describe", "component");
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> {
+      try {
+        return cache.get(key, () -> {
+          loading.countDown();
+          await(release);
+          return "stale";
+        });
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    await(loading);
+    cache.invalidate(GROUP, "/tmp");
+    // when
+    String value = cache.get(key, this::load);
+    release.countDown();
+    // then
+    assertThat(value).isEqualTo("value1");
+    assertThat(stale.get(10, TimeUnit.SECONDS)).isEqualTo("stale");
+    assertThat(cache.<String>get(key, this::load)).isEqualTo("value1");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String load() {
+    return "value" + loads.incrementAndGet();
+  }
+}
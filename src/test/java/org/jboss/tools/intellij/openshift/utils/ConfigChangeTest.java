@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import io.fabric8.kubernetes.api.model.Config;
+import io.fabric8.kubernetes.api.model.ConfigBuilder;
+import io.fabric8.kubernetes.api.model.NamedAuthInfoBuilder;
+import io.fabric8.kubernetes.api.model.NamedClusterBuilder;
+import io.fabric8.kubernetes.api.model.NamedContextBuilder;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ConfigChangeTest {
+
+  @Test
+  public void classify_should_return_none_if_configs_are_equal() {
+    assertThat(ConfigChange.classify(config("dev", "project", "token", "https://dev:6443"), config("dev", "project", "token", "https://dev:6443")))
+      .isEqualTo(ConfigChange.NONE);
+  }
+
+  @Test
+  public void classify_should_return_token_if_token_is_rotated() {
+    assertThat(ConfigChange.classify(config("dev", "project", "token1", "https://dev:6443"), config("dev", "project", "token2", "https://dev:6443")))
+      .isEqualTo(ConfigChange.TOKEN);
+  }
+
+  @Test
+  public void classify_should_return_context_if_user_logs_out() {
+    assertThat(ConfigChange.classify(config("dev", "project", "token", "https://dev:6443"), config("dev", "project", null, "https://dev:6443")))
+      .isEqualTo(ConfigChange.CONTEXT);
+  }
+
+  @Test
+  public void classify_should_return_namespace_if_namespace_changes() {
+    assertThat(ConfigChange.classify(config("dev", "project1", "token", "https://dev:6443"), config("dev", "project2", "token", "https://dev:6443")))
+      .isEqualTo(ConfigChange.NAMESPACE);
+  }
+
+  @Test
+  public void classify_should_return_context_if_current_context_changes() {
+    assertThat(ConfigChange.classify(config("dev", "project", "token", "https://dev:6443"), config("prod", "project", "token", "https://dev:6443")))
+      .isEqualTo(ConfigChange.CONTEXT);
+  }
+
+  @Test
+  public void classify_should_return_context_if_cluster_server_changes() {
+    assertThat(ConfigChange.classify(config("dev", "project", "token", "https://dev:6443"), config("dev", "project", "token", "https://prod:6443")))
+      .isEqualTo(ConfigChange.CONTEXT);
+  }
+
+  @Test
+  public void classify_should_return_unrelated_if_other_context_changes() {
+    // given
+    Config previous = config("dev", "project", "token", "https://dev:6443");
+    Config current = new ConfigBuilder(config("dev", "project", "token", "https://dev:6443"))
+      .addToContexts(new NamedContextBuilder()
+        .withName("other")
+        .withNewContext()
+          .withCluster("other")
+          .withUser("other")
+        .endContext()
+        .build())
+      .build();
+    // when
+    ConfigChange change = ConfigChange.classify(previous, current);
+    // then
+    assertThat(change).isEqualTo(ConfigChange.UNRELATED);
+  }
+
+  @Test
+  public void getNamespace_and_getToken_should_return_values_of_current_context() {
+    // given
+    Config config = config("dev", "project", "token", "https://dev:6443");
+    // when
+    // then
+    assertThat(ConfigChange.getNamespace(config)).isEqualTo("project");
+    assertThat(ConfigChange.getToken(config)).isEqualTo("token");
+  }
+
+  private Config config(String context, String namespace, String token, String server) {
+    return new ConfigBuilder()
+      .withCurrentContext(context)
+      .addToContexts(new NamedContextBuilder()
+        .withName(context)
+        .withNewContext()
+          .withCluster("cluster")
+          .withUser("user")
+          .withNamespace(namespace)
+        .endContext()
+        .build())
+      .addToClusters(new NamedClusterBuilder()
+        .withName("cluster")
+        .withNewCluster()
+          .withServer(server)
+        .endCluster()
+        .build())
+      .addToUsers(new NamedAuthInfoBuilder()
+        .withName("user")
+        .withNewUser()
+          .withToken(token)
+        .endUser()
+        .build())
+      .build();
+  }
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KubernetesClientPoolTest {
+
+  private ScheduledExecutorService scheduler;
+  private ScheduledFuture<?> eviction;
+  private KubernetesClientPool pool;
+
+  @Before
+  public void before() {
+    this.scheduler = mock(ScheduledExecutorService.class);
+    this.eviction = mock(ScheduledFuture.class);
+    doReturn(eviction).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    this.pool = new KubernetesClientPool(config -> client(), scheduler);
+  }
+
+  @Test
+  public void acquire_should_return_same_client_for_same_context() {
+    // given
+    KubernetesClient first = pool.acquire("dev", config("https://dev:6443", "token1"));
+    // when
+    KubernetesClient second = pool.acquire("dev", config("https://dev:6443", "token2"));
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(pool.getClientCount()).isEqualTo(1);
+    verify(first.getConfiguration()).setOauthToken("token2");
+    verify(first.getConfiguration(), never()).setNamespace(any());
+  }
+
+  @Test
+  public void acquire_should_return_other_client_for_other_namespace() {
+    // given
+    KubernetesClient ns1 = pool.acquire("dev", config("https://dev:6443", "token", "ns1"));
+    // when
+    KubernetesClient ns2 = pool.acquire("dev", config("https://dev:6443", "token", "ns2"));
+    // then
+    assertThat(ns2).isNotSameAs(ns1);
+    assertThat(pool.getClientCount()).isEqualTo(2);
+    verify(ns1.getConfiguration(), never()).setNamespace(any());
+  }
+
+  @Test
+  public void updateToken_should_update_token_of_client() {
+    // given
+    KubernetesClient client = pool.acquire("dev", config("https://dev:6443", "token1"));
+    // when
+    pool.updateToken(client, "token2");
+    // then
+    verify(client.getConfiguration()).setOauthToken("token2");
+  }
+
+  @Test
+  public void acquire_should_return_other_client_for_other_cluster() {
+    // given
+    KubernetesClient dev = pool.acquire("dev", config("https://dev:6443", "token"));
+    // when
+    KubernetesClient prod = pool.acquire("prod", config("https://prod:6443", "token"));
+    // then
+    assertThat(prod).isNotSameAs(dev);
+    assertThat(pool.getClientCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void release_should_not_evict_client_that_is_still_acquired() {
+    // given
+    KubernetesClient client = pool.acquire("dev", config("https://dev:6443", "token"));
+    pool.acquire("dev", config("https://dev:6443", "token"));
+    // when
+    pool.release(client);
+    // then
+    verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void release_should_close_client_when_it_is_evicted() {
+    // given
+    KubernetesClient client = pool.acquire("dev", config("https://dev:6443", "token"));
+    // when
+    pool.release(client);
+    // then
+    ArgumentCaptor<Runnable> evict = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(evict.capture(), eq(KubernetesClientPool.IDLE_TIMEOUT), eq(TimeUnit.MILLISECONDS));
+    evict.getValue().run();
+    verify(client).close();
+    assertThat(pool.getClientCount()).isZero();
+  }
+
+  @Test
+  public void acquire_should_reuse_released_client_before_it_is_evicted() {
+    // given
+    KubernetesClient client = pool.acquire("dev", config("https://dev:6443", "token"));
+    pool.release(client);
+    // when
+    KubernetesClient reacquired = pool.acquire("dev", config("https://dev:6443", "token"));
+    // then
+    assertThat(reacquired).isSameAs(client);
+    verify(eviction).cancel(false);
+    verify(client, never()).close();
+  }
+
+  @Test
+  public void acquire_should_close_idle_client_of_same_context_with_other_cluster() {
+    // given
+    KubernetesClient client = pool.acquire("dev", config("https://dev:6443", "token"));
+    pool.release(client);
+    // when
+    KubernetesClient other = pool.acquire("dev", config("https://other:6443", "token"));
+    // then
+    assertThat(other).isNotSameAs(client);
+    verify(client, times(1)).close();
+    assertThat(pool.getClientCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void release_should_ignore_client_that_was_not_acquired() {
+    assertThat(pool.release(client())).isFalse();
+  }
+
+  private static Config config(String masterUrl, String token) {
+    return config(masterUrl, token, "default");
+  }
+
+  private static Config config(String masterUrl, String token, String namespace) {
+    Config config = mock(Config.class);
+    when(config.getMasterUrl()).thenReturn(masterUrl);
+    when(config.getOauthToken()).thenReturn(token);
+    when(config.getNamespace()).thenReturn(namespace);
+    return config;
+  }
+
+  private static KubernetesClient client() {
+    KubernetesClient client = mock(KubernetesClient.class);
+    Config config = mock(Config.class);
+    when(client.getConfiguration()).thenReturn(config);
+    return client;
+  }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+  private final SingleFlight<SingleFlight.Key, String> singleFlight = new SingleFlight<>();
+  private final AtomicInteger invocations = new AtomicInteger();
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @Test
+  public void execute_should_share_running_invocation_with_identical_key() throws Exception {
+    // given
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> execute(key("describe")));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> execute(key("describe")));
+    // when
+    Thread.sleep(100);
+    release.countDown();
+    // then
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result1");
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("result1");
+    assertThat(invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void execute_should_run_invocations_with_different_keys() throws Exception {
+    // given
+    release.countDown();
+    // when
+    singleFlight.execute(key("describe"), this::load);
+    singleFlight.execute(key("list"), this::load);
+    // then
+    assertThat(invocations.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void execute_should_run_again_once_previous_invocation_completed() throws Exception {
+    // given
+    release.countDown();
+    singleFlight.execute(key("describe"), this::load);
+    // when
+    String result = singleFlight.execute(key("describe"), this::load);
+    // then
+    assertThat(result).isEqualTo("result2");
+  }
+
+  @Test
+  public void execute_should_rethrow_exception_of_shared_invocation() throws Exception {
+    // given
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> executeFailing(key("describe")));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> execute(key("describe")));
+    // when
+    Thread.sleep(100);
+    release.countDown();
+    // then
+    try {
+      second.get(5, TimeUnit.SECONDS);
+      fail("exception expected");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause().getCause()).isInstanceOf(IOException.class);
+      assertThat(e.getCause().getCause().getMessage()).isEqualTo("failed");
+    }
+    assertThat(first.isCompletedExceptionally()).isTrue();
+  }
+
+  private SingleFlight.Key key(String argument) {
+    return new SingleFlight.Key("odo", new File("/tmp"), Map.of("KEY", "value"), argument, "-o", "json");
+  }
+
+  private String execute(SingleFlight.Key key) {
+    try {
+      return singleFlight.execute(key, this::load);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String executeFailing(SingleFlight.Key key) {
+    try {
+      return singleFlight.execute(key, () -> {
+        started.countDown();
+        await();
+        throw new IOException("failed");
+      });
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String load() {
+    started.countDown();
+    await();
+    return "result" + invocations.incrementAndGet();
+  }
+
+  private void await() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.helm;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class HelmRepositoryIndexTest {
+
+  private static final String BITNAMI_INDEX = """
+    apiVersion: v1
+    entries:
+      nginx:
+      - apiVersion: v2
+        appVersion: 1.25.3
+        description: NGINX Open Source is a web server.
+        maintainers:
+        - name: VMware, Inc.
+          url: https://github.com/bitnami/charts
+        name: nginx
+        urls:
+        - https://charts.bitnami.com/bitnami/nginx-15.4.0.tgz
+        version: 15.4.0
+      - description: NGINX Open Source is a web server.
+        name: nginx
+        version: 15.5.0-beta.1
+      - description: NGINX Open Source is a web server.
+        name: nginx
+        version: 15.3.0+build.7
+      redis:
+      - description: Redis(R) is an open source key-value store.
+        name: redis
+        version: 18.1.0
+    generated: "2024-01-01T00:00:00.000000000Z"
+    """;
+
+  private static final String JETSTACK_INDEX = """
+    apiVersion: v1
+    entries:
+      cert-manager:
+      - description: A Helm chart for cert-manager
+        name: cert-manager
+        version: v1.13.2
+    """;
+
+  private File directory;
+  private Path cache;
+  private HelmRepositoryIndex index;
+
+  @Before
+  public void before() throws IOException {
+    this.directory = FileUtil.createTempDirectory("helm-repository-index-test", "");
+    this.cache = Files.createDirectories(directory.toPath().resolve("repository"));
+    this.index = new HelmRepositoryIndex(cache);
+  }
+
+  @After
+  public void after() {
+    FileUtil.delete(directory);
+  }
+
+  @Test
+  public void getCharts_should_return_all_release_versions_of_repository() throws IOException {
+    // given
+    Files.writeString(cache.resolve("bitnami-index.yaml"), BITNAMI_INDEX);
+    // when
+    List<Chart> charts = index.getCharts("bitnami");
+    // then
+    assertThat(charts).containsExactly(
+      new Chart("bitnami/nginx", "15.4.0", "NGINX Open Source is a web server."),
+      new Chart("bitnami/nginx", "15.3.0+build.7", "NGINX Open Source is a web server."),
+      new Chart("bitnami/redis", "18.1.0", "Redis(R) is an open source key-value store."));
+  }
+
+  @Test
+  public void getCharts_should_return_charts_of_given_repository_only() throws IOException {
+    // given
+    Files.writeString(cache.resolve("bitnami-index.yaml"), BITNAMI_INDEX);
+    Files.writeString(cache.resolve("jetstack-index.yaml"), JETSTACK_INDEX);
+    // when
+    List<Chart> charts = index.getCharts("jetstack");
+    // then
+    assertThat(charts).containsExactly(
+      new Chart("jetstack/cert-manager", "v1.13.2", "A Helm chart for cert-manager"));
+  }
+
+  @Test
+  public void getCharts_should_return_null_if_given_repository_has_no_index() throws IOException {
+    assertThat(index.getCharts("missing")).isNull();
+  }
+
+  @Test
+  public void getCharts_should_read_index_again_only_if_it_changed() throws IOException {
+    // given
+    Path bitnami = Files.writeString(cache.resolve("bitnami-index.yaml"), BITNAMI_INDEX);
+    Chart nginx = index.getCharts("bitnami").get(0);
+    // when
+    Chart unchanged = index.getCharts("bitnami").get(0);
+    Files.writeString(bitnami, JETSTACK_INDEX.replace("cert-manager", "nginx"));
+    Files.setLastModifiedTime(bitnami, FileTime.fromMillis(Files.getLastModifiedTime(bitnami).toMillis() + 1000));
+    Chart changed = index.getCharts("bitnami").get(0);
+    // then
+    assertThat(unchanged).isSameAs(nginx);
+    assertThat(changed).isEqualTo(new Chart("bitnami/nginx", "v1.13.2", "A Helm chart for nginx"));
+  }
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import org.jboss.tools.intellij.openshift.utils.Serialization;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+public class CRDSchemaCacheTest {
+
+  private static final String NAME = "kafkas.kafka.strimzi.io";
+  private static final String CRD_PATH = "/apis/apiextensions.k8s.io/v1/customresourcedefinitions/" + NAME;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicLong now = new AtomicLong(0);
+  private final AtomicInteger loads = new AtomicInteger();
+  private final Supplier<ObjectNode> loader = () -> {
+    loads.incrementAndGet();
+    ObjectNode schema = Serialization.json().createObjectNode();
+    schema.put("description", "Kafka");
+    return schema;
+  };
+
+  private ClientAndServer mockServer;
+  private KubernetesClient client;
+  private CRDSchemaCache cache;
+
+  @Before
+  public void before() throws IOException {
+    this.mockServer = ClientAndServer.startClientAndServer(0);
+    this.client = new KubernetesClientBuilder()
+      .withConfig(new ConfigBuilder()
+        .withMasterUrl("http://localhost:" + mockServer.getPort())
+        .build())
+      .build();
+    this.cache = new CRDSchemaCache(client, folder.newFolder("crd-schemas").toPath(), now::get);
+  }
+
+  @After
+  public void after() {
+    client.close();
+    mockServer.stop();
+  }
+
+  @Test
+  public void get_should_return_copy_of_cached_schema() {
+    // given
+    respondResourceVersion("1", Times.unlimited());
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader).put("description", "modified");
+    // when
+    ObjectNode schema = cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // then
+    assertEquals("Kafka", schema.path("description").asText());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void get_should_not_revalidate_before_time_to_live_expired() {
+    // given
+    respondResourceVersion("1", Times.unlimited());
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // when
+    now.set(CRDSchemaCache.TIME_TO_LIVE - 1);
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // then
+    mockServer.verify(HttpRequest.request().withPath(CRD_PATH), VerificationTimes.once());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void get_should_revalidate_after_time_to_live_expired() {
+    // given
+    respondResourceVersion("1", Times.unlimited());
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // when
+    now.set(CRDSchemaCache.TIME_TO_LIVE);
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // then
+    mockServer.verify(HttpRequest.request().withPath(CRD_PATH), VerificationTimes.exactly(2));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void invalidate_should_revalidate_before_time_to_live_expired() {
+    // given
+    respondResourceVersion("1", Times.unlimited());
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // when
+    cache.invalidate();
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // then
+    mockServer.verify(HttpRequest.request().withPath(CRD_PATH), VerificationTimes.exactly(2));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void get_should_load_schema_again_if_resource_version_changed() {
+    // given
+    respondResourceVersion("1", Times.once());
+    respondResourceVersion("2", Times.unlimited());
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // when
+    now.set(CRDSchemaCache.TIME_TO_LIVE);
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // then
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void get_should_read_schema_from_disk() {
+    // given
+    respondResourceVersion("1", Times.unlimited());
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    CRDSchemaCache other = new CRDSchemaCache(client, folder.getRoot().toPath().resolve("crd-schemas"), now::get);
+    // when
+    ObjectNode schema = other.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // then
+    assertEquals("Kafka", schema.path("description").asText());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void get_should_load_schema_if_crd_cannot_be_revalidated() {
+    // given
+    mockServer.when(HttpRequest.request().withPath(CRD_PATH))
+      .respond(HttpResponse.notFoundResponse());
+    // when
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    cache.get(NAME, "v1beta2", Collections.emptyList(), loader);
+    // then
+    assertEquals(2, loads.get());
+  }
+
+  private void respondResourceVersion(String resourceVersion, Times times) {
+    mockServer.when(HttpRequest.request().withPath(CRD_PATH), times)
+      .respond(HttpResponse.response("{\"metadata\":{\"name\":\"" + NAME + "\",\"resourceVersion\":\"" + resourceVersion + "\"}}"));
+  }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Store;
+import org.jboss.tools.intellij.openshift.KubernetesLabels;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ComponentIndexTest {
+
+  private final AtomicLong now = new AtomicLong(0);
+  private final AtomicInteger started = new AtomicInteger();
+  private final List<SharedIndexInformer<Deployment>> informers = new ArrayList<>();
+  private KubernetesClientException error;
+  private ComponentIndex index;
+
+  @Before
+  public void before() {
+    this.error = null;
+    this.index = new ComponentIndex(
+      List.of((namespace, handler) -> {
+        started.incrementAndGet();
+        if (error != null) {
+          throw error;
+        }
+        return createInformer(namespace);
+      }),
+      mock(ScheduledExecutorService.class),
+      null,
+      now::get);
+  }
+
+  @Test
+  public void getComponents_should_return_components_of_the_namespace() {
+    // given
+    // when
+    List<Component> components = index.getComponents("ns1");
+    // then
+    assertThat(components).hasSize(1);
+    Component component = components.get(0);
+    assertThat(component.getName()).isEqualTo("ns1-component");
+    assertThat(component.getManagedBy()).isEqualTo("odo");
+    assertThat(component.getLiveFeatures().isDev()).isTrue();
+  }
+
+  @Test
+  public void getComponents_should_start_informers_once_per_namespace() {
+    // given
+    index.getComponents("ns1");
+    // when
+    index.getComponents("ns1");
+    // then
+    assertThat(started.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void getComponents_should_not_retry_failed_namespace_before_backoff_expired() {
+    // given
+    this.error = new KubernetesClientException("forbidden");
+    getComponentsAndExpectFailure("ns1");
+    // when
+    now.set(ComponentIndex.INITIAL_BACKOFF - 1);
+    KubernetesClientException thrown = getComponentsAndExpectFailure("ns1");
+    // then
+    assertThat(started.get()).isEqualTo(1);
+    assertSame(error, thrown);
+  }
+
+  @Test
+  public void getComponents_should_retry_failed_namespace_after_backoff_expired() {
+    // given
+    this.error = new KubernetesClientException("forbidden");
+    getComponentsAndExpectFailure("ns1");
+    this.error = null;
+    // when
+    now.set(ComponentIndex.INITIAL_BACKOFF);
+    List<Component> components = index.getComponents("ns1");
+    // then
+    assertThat(started.get()).isEqualTo(2);
+    assertThat(components).hasSize(1);
+  }
+
+  @Test
+  public void getComponents_should_double_backoff_for_repeated_failures() {
+    // given
+    this.error = new KubernetesClientException("forbidden");
+    getComponentsAndExpectFailure("ns1");
+    now.set(ComponentIndex.INITIAL_BACKOFF);
+    getComponentsAndExpectFailure("ns1");
+    // when
+    now.set(ComponentIndex.INITIAL_BACKOFF * 2);
+    getComponentsAndExpectFailure("ns1");
+    // then
+    assertThat(started.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void retain_should_stop_informers_of_other_namespaces() {
+    // given
+    index.getComponents("ns1");
+    index.getComponents("ns2");
+    // when
+    index.retain("ns2");
+    // then
+    verify(informers.get(0)).close();
+    index.getComponents("ns2");
+    assertThat(started.get()).isEqualTo(2);
+    index.getComponents("ns1");
+    assertThat(started.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void invalidate_should_forget_failures() {
+    // given
+    this.error = new KubernetesClientException("forbidden");
+    getComponentsAndExpectFailure("ns1");
+    this.error = null;
+    // when
+    index.invalidate();
+    List<Component> components = index.getComponents("ns1");
+    // then
+    assertThat(components).hasSize(1);
+  }
+
+  private KubernetesClientException getComponentsAndExpectFailure(String namespace) {
+    try {
+      index.getComponents(namespace);
+      fail("KubernetesClientException expected");
+      return null;
+    } catch (KubernetesClientException e) {
+      return e;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private SharedIndexInformer<? extends HasMetadata> createInformer(String namespace) {
+    Deployment deployment = new DeploymentBuilder()
+      .withNewMetadata()
+      .withName(namespace + "-component-app")
+      .withNamespace(namespace)
+      .addToLabels(KubernetesLabels.COMPONENT_NAME_LABEL, namespace + "-component")
+      .addToLabels(KubernetesLabels.MANAGED_BY_LABEL, "odo")
+      .addToLabels(KubernetesLabels.ODO_MODE_LABEL, "Dev")
+      .endMetadata()
+      .build();
+    Store<Deployment> store = mock(Store.class);
+    when(store.list()).thenReturn(List.of(deployment));
+    SharedIndexInformer<Deployment> informer = mock(SharedIndexInformer.class);
+    when(informer.getStore()).thenReturn(store);
+    informers.add(informer);
+    return informer;
+  }
+}
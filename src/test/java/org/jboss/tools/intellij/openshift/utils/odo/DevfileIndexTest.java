@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.intellij.util.io.DataExternalizer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class DevfileIndexTest {
+
+  private final DataExternalizer<DevfileMetadata> externalizer = new DevfileIndex().getValueExternalizer();
+
+  @Test
+  public void externalizer_should_read_saved_metadata() throws IOException {
+    // given
+    DevfileMetadata metadata = new DevfileMetadata("nodejs-app", "Node.js",
+      List.of("http-node:3000", "debug:5858"), List.of("install", "run"));
+    // when
+    DevfileMetadata read = saveAndRead(metadata);
+    // then
+    assertThat(read).isEqualTo(metadata);
+  }
+
+  @Test
+  public void externalizer_should_read_saved_metadata_without_name_nor_project_type() throws IOException {
+    // given
+    DevfileMetadata metadata = new DevfileMetadata(null, null, Collections.emptyList(), List.of("run"));
+    // when
+    DevfileMetadata read = saveAndRead(metadata);
+    // then
+    assertThat(read.getName()).isNull();
+    assertThat(read.getProjectType()).isNull();
+    assertThat(read.getEndpoints()).isEmpty();
+    assertThat(read.getCommands()).containsExactly("run");
+  }
+
+  @Test
+  public void isDevfile_should_accept_devfile_and_hidden_devfile() {
+    assertThat(DevfileIndex.isDevfile("devfile.yaml")).isTrue();
+    assertThat(DevfileIndex.isDevfile(".devfile.yaml")).isTrue();
+    assertThat(DevfileIndex.isDevfile("devfile.yml")).isFalse();
+  }
+
+  private DevfileMetadata saveAndRead(DevfileMetadata metadata) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      externalizer.save(out, metadata);
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return externalizer.read(in);
+    }
+  }
+}
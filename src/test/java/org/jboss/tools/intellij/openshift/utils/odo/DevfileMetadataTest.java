@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class DevfileMetadataTest {
+
+  private static final String DEVFILE = """
+    schemaVersion: 2.2.0
+    metadata:
+      name: nodejs-app
+      projectType: Node.js
+      language: JavaScript
+    components:
+      - name: runtime
+        container:
+          image: registry.access.redhat.com/ubi8/nodejs-16:latest
+          endpoints:
+            - name: http-node
+              targetPort: 3000
+            - name: debug
+              targetPort: 5858
+      - name: storage
+        volume:
+          size: 1Gi
+    commands:
+      - id: install
+        exec:
+          component: runtime
+          commandLine: npm install
+      - id: run
+        exec:
+          component: runtime
+          commandLine: npm start
+    """;
+
+  @Test
+  public void parse_should_extract_name_project_type_endpoints_and_commands() {
+    // given
+    // when
+    DevfileMetadata metadata = DevfileMetadata.parse(DEVFILE);
+    // then
+    assertThat(metadata).isNotNull();
+    assertThat(metadata.getName()).isEqualTo("nodejs-app");
+    assertThat(metadata.getProjectType()).isEqualTo("Node.js");
+    assertThat(metadata.getEndpoints()).containsExactly("http-node:3000", "debug:5858");
+    assertThat(metadata.getCommands()).containsExactly("install", "run");
+  }
+
+  @Test
+  public void parse_should_return_null_name_if_devfile_has_no_metadata() {
+    // given
+    // when
+    DevfileMetadata metadata = DevfileMetadata.parse("schemaVersion: 2.2.0\n");
+    // then
+    assertThat(metadata).isNotNull();
+    assertThat(metadata.getName()).isNull();
+    assertThat(metadata.getEndpoints()).isEmpty();
+  }
+
+  @Test
+  public void parse_should_return_null_if_content_is_not_yaml_object() {
+    assertThat(DevfileMetadata.parse("- a\n- b\n")).isNull();
+    assertThat(DevfileMetadata.parse("key: [unclosed")).isNull();
+  }
+}
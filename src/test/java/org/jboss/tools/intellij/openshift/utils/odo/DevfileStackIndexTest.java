@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.verify.VerificationTimes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class DevfileStackIndexTest {
+
+  private static final String ETAG = "\"42\"";
+  private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+  private static final String INDEX = "[{\"name\":\"java-quarkus\",\"displayName\":\"Quarkus Java\","
+    + "\"description\":\"Java application using Quarkus\",\"starterProjects\":[\"community\",\"redhat-product\"]}]";
+  private static final String UPDATED_INDEX = "[{\"name\":\"nodejs\",\"displayName\":\"Node.js Runtime\","
+    + "\"description\":\"Node.js application\",\"starterProjects\":[{\"name\":\"nodejs-starter\"}]}]";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicLong now = new AtomicLong(0);
+  private ClientAndServer mockServer;
+  private DevfileRegistry registry;
+  private Path directory;
+
+  @Before
+  public void before() throws IOException {
+    this.mockServer = ClientAndServer.startClientAndServer(0);
+    this.registry = DevfileRegistry.of("DefaultDevfileRegistry", "http://localhost:" + mockServer.getPort() + "/", false);
+    this.directory = folder.newFolder("devfile-registries").toPath();
+  }
+
+  @After
+  public void after() {
+    mockServer.stop();
+  }
+
+  @Test
+  public void getComponentTypes_should_return_stacks_of_registry() throws IOException {
+    // given
+    respondIndex(INDEX, Times.unlimited());
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    // when
+    List<DevfileComponentType> types = index.getComponentTypes(registry);
+    // then
+    assertEquals(1, types.size());
+    assertEquals("java-quarkus", types.get(0).getName());
+    assertEquals("Quarkus Java", types.get(0).getDisplayName());
+  }
+
+  @Test
+  public void getIndex_should_not_revalidate_fresh_index() throws IOException {
+    // given
+    respondIndex(INDEX, Times.unlimited());
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    index.getIndex(registry);
+    // when
+    now.set(TimeUnit.SECONDS.toNanos(59));
+    index.getIndex(registry);
+    // then
+    mockServer.verify(HttpRequest.request().withPath("/index"), VerificationTimes.once());
+  }
+
+  @Test
+  public void expire_should_revalidate_fresh_index() throws IOException {
+    // given
+    respondIndex(INDEX, Times.once());
+    mockServer.when(HttpRequest.request()
+        .withPath("/index")
+        .withHeader("If-None-Match", ETAG))
+      .respond(HttpResponse.response().withStatusCode(304));
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    index.getIndex(registry);
+    // when
+    index.expire();
+    List<DevfileComponentType> types = index.getComponentTypes(registry);
+    // then
+    mockServer.verify(HttpRequest.request().withPath("/index").withHeader("If-None-Match", ETAG), VerificationTimes.once());
+    assertEquals("java-quarkus", types.get(0).getName());
+  }
+
+  @Test
+  public void getIndex_should_revalidate_with_etag_and_last_modified() throws IOException {
+    // given
+    respondIndex(INDEX, Times.once());
+    mockServer.when(HttpRequest.request()
+        .withPath("/index")
+        .withHeader("If-None-Match", ETAG)
+        .withHeader("If-Modified-Since", LAST_MODIFIED))
+      .respond(HttpResponse.response().withStatusCode(304));
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    index.getIndex(registry);
+    // when
+    now.set(TimeUnit.MINUTES.toNanos(1));
+    List<DevfileComponentType> types = index.getComponentTypes(registry);
+    // then
+    mockServer.verify(HttpRequest.request().withPath("/index").withHeader("If-None-Match", ETAG), VerificationTimes.once());
+    assertEquals("java-quarkus", types.get(0).getName());
+  }
+
+  @Test
+  public void getIndex_should_replace_index_that_changed() throws IOException {
+    // given
+    respondIndex(INDEX, Times.once());
+    respondIndex(UPDATED_INDEX, Times.unlimited());
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    index.getIndex(registry);
+    // when
+    now.set(TimeUnit.MINUTES.toNanos(1));
+    List<DevfileComponentType> types = index.getComponentTypes(registry);
+    // then
+    assertEquals("nodejs", types.get(0).getName());
+  }
+
+  @Test
+  public void getIndex_should_return_last_known_index_if_registry_fails() throws IOException {
+    // given
+    respondIndex(INDEX, Times.once());
+    mockServer.when(HttpRequest.request().withPath("/index"))
+      .respond(HttpResponse.response().withStatusCode(503));
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    index.getIndex(registry);
+    // when
+    now.set(TimeUnit.MINUTES.toNanos(1));
+    List<DevfileComponentType> types = index.getComponentTypes(registry);
+    // then
+    assertEquals("java-quarkus", types.get(0).getName());
+  }
+
+  @Test(expected = IOException.class)
+  public void getIndex_should_throw_if_registry_fails_and_index_is_unknown() throws IOException {
+    // given
+    mockServer.when(HttpRequest.request().withPath("/index"))
+      .respond(HttpResponse.response().withStatusCode(503));
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    // when
+    index.getIndex(registry);
+    // then
+  }
+
+  @Test
+  public void getIndex_should_revalidate_persisted_index() throws IOException {
+    // given
+    respondIndex(INDEX, Times.once());
+    mockServer.when(HttpRequest.request()
+        .withPath("/index")
+        .withHeader("If-None-Match", ETAG))
+      .respond(HttpResponse.response().withStatusCode(304));
+    new DevfileStackIndex(directory, now::get).getIndex(registry);
+    DevfileStackIndex restarted = new DevfileStackIndex(directory, now::get);
+    // when
+    List<DevfileComponentType> types = restarted.getComponentTypes(registry);
+    // then
+    mockServer.verify(HttpRequest.request().withPath("/index").withHeader("If-None-Match", ETAG), VerificationTimes.once());
+    assertEquals("java-quarkus", types.get(0).getName());
+  }
+
+  @Test
+  public void getIndex_should_return_persisted_index_if_registry_fails() throws IOException {
+    // given
+    respondIndex(INDEX, Times.once());
+    mockServer.when(HttpRequest.request().withPath("/index"))
+      .respond(HttpResponse.response().withStatusCode(503));
+    new DevfileStackIndex(directory, now::get).getIndex(registry);
+    DevfileStackIndex restarted = new DevfileStackIndex(directory, now::get);
+    // when
+    List<DevfileComponentType> types = restarted.getComponentTypes(registry);
+    // then
+    assertEquals("java-quarkus", types.get(0).getName());
+  }
+
+  @Test(expected = IOException.class)
+  public void invalidate_should_delete_persisted_index() throws IOException {
+    // given
+    respondIndex(INDEX, Times.once());
+    mockServer.when(HttpRequest.request().withPath("/index"))
+      .respond(HttpResponse.response().withStatusCode(503));
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    index.getIndex(registry);
+    // when
+    index.invalidate(registry);
+    // then
+    new DevfileStackIndex(directory, now::get).getIndex(registry);
+  }
+
+  @Test
+  public void getComponentTypeInfos_should_return_starter_projects_of_all_stacks() throws IOException {
+    // given
+    respondIndex(UPDATED_INDEX, Times.unlimited());
+    DevfileStackIndex index = new DevfileStackIndex(directory, now::get);
+    // when
+    Map<String, ComponentTypeInfo> infos = index.getComponentTypeInfos(registry);
+    // then
+    assertEquals(1, infos.size());
+    assertEquals("nodejs-starter", infos.get("nodejs").getStarters().get(0).getName());
+  }
+
+  private void respondIndex(String body, Times times) {
+    mockServer.when(HttpRequest.request().withPath("/index"), times)
+      .respond(HttpResponse.response(body)
+        .withHeader("ETag", ETAG)
+        .withHeader("Last-Modified", LAST_MODIFIED)
+        .withHeader("Content-Type", "application/json"));
+  }
+}
@@ -40,6 +40,33 @@ public class JsonParserTest {
     assertNotNull(schema);
   }
 
+  @Test
+  public void verifyThatCRDCanBeLoadedFromOpenApiV3() throws IOException {
+    String json = "{\"paths\":{\"/apis/kafka.strimzi.io/v1beta2/namespaces/{namespace}/kafkas\":{\"post\":{"
+      + "\"requestBody\":{\"content\":{\"*/*\":{\"schema\":{\"$ref\":\"#/components/schemas/io.strimzi.kafka.v1beta2.Kafka\"}}}}}}},"
+      + "\"components\":{\"schemas\":{\"io.strimzi.kafka.v1beta2.Kafka\":{\"type\":\"object\",\"properties\":{"
+      + "\"spec\":{\"$ref\":\"#/components/schemas/io.strimzi.kafka.v1beta2.KafkaSpec\"}}},"
+      + "\"io.strimzi.kafka.v1beta2.KafkaSpec\":{\"type\":\"object\"}}}}";
+    JSonParser parser = new JSonParser(MAPPER.readTree(json));
+    JsonNode schema = parser.findSchema("/apis/kafka.strimzi.io/v1beta2/namespaces/{namespace}/kafkas");
+    assertNotNull(schema);
+    assertEquals("object", schema.path("properties").path("spec").path("type").asText());
+  }
+
+  @Test
+  public void verifyThatCRDReferencesInArraysAreResolved() throws IOException {
+    String json = "{\"paths\":{\"/apis/kafka.strimzi.io/v1beta2/namespaces/{namespace}/kafkas\":{\"post\":{"
+      + "\"requestBody\":{\"content\":{\"*/*\":{\"schema\":{\"type\":\"object\",\"properties\":{"
+      + "\"metadata\":{\"allOf\":[{\"$ref\":\"#/components/schemas/ObjectMeta\"}]}}}}}}}}},"
+      + "\"components\":{\"schemas\":{\"ObjectMeta\":{\"type\":\"object\",\"description\":\"metadata\"}}}}";
+    JSonParser parser = new JSonParser(MAPPER.readTree(json));
+    JsonNode schema = parser.findSchema("/apis/kafka.strimzi.io/v1beta2/namespaces/{namespace}/kafkas");
+    assertNotNull(schema);
+    JsonNode allOf = schema.path("properties").path("metadata").path("allOf").get(0);
+    assertEquals("metadata", allOf.path("description").asText());
+    assertTrue(allOf.path("$ref").isMissingNode());
+  }
+
   @Test
   public void verifyThatURLSCanBeLoadedFromDevMode() throws IOException {
     URL url = JsonParserTest.class.getResource("/describe-component-dev.json");
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+public class NotificationFilterReaderTest {
+
+  @Test
+  public void verifyThatOutputWithoutNotificationIsUnchanged() throws IOException {
+    String output = "{\n  \"name\": \"nodejs\"\n}\n";
+    Assert.assertEquals(output, read(output));
+  }
+
+  @Test
+  public void verifyThatNotificationIsRemoved() throws IOException {
+    String output = "{\n  \"name\": \"nodejs\"\n}\n---\nA new version of odo is available\n";
+    Assert.assertEquals("{\n  \"name\": \"nodejs\"\n}\n", read(output));
+  }
+
+  @Test
+  public void verifyThatDashesWithinLineAreKept() throws IOException {
+    String output = "{\n  \"name\": \"--nodejs---\"\n}\n-- not a notification\n";
+    Assert.assertEquals(output, read(output));
+  }
+
+  @Test
+  public void verifyThatNotificationOnFirstLineRemovesAll() throws IOException {
+    Assert.assertEquals("", read("---\nA new version of odo is available\n"));
+  }
+
+  @Test
+  public void verifyThatJsonCanBeParsedFromFilteredOutput() throws IOException {
+    String output = "{\n  \"name\": \"nodejs\"\n}\n---\nA new version of odo is available\n";
+    JsonNode node = new ObjectMapper().readTree(new NotificationFilterReader(new StringReader(output)));
+    Assert.assertEquals("nodejs", node.get("name").asText());
+  }
+
+  private String read(String output) throws IOException {
+    StringWriter writer = new StringWriter();
+    try (Reader reader = new NotificationFilterReader(new StringReader(output))) {
+      char[] buffer = new char[4];
+      int read;
+      while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+        writer.write(buffer, 0, read);
+      }
+    }
+    return writer.toString();
+  }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.verify.VerificationTimes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class OpenApiSchemaProviderTest {
+
+  private static final String CRD = "kafka.strimzi.io/v1beta2/namespaces/{namespace}/kafkas";
+  private static final String V3_DOCUMENT_PATH = "/openapi/v3/apis/kafka.strimzi.io/v1beta2";
+  private static final String DISCOVERY = "{\"paths\":{\"apis/kafka.strimzi.io/v1beta2\":{"
+    + "\"serverRelativeURL\":\"" + V3_DOCUMENT_PATH + "?hash=42\"}}}";
+  private static final String DOCUMENT = "{\"paths\":{\"/apis/" + CRD + "\":{\"post\":{"
+    + "\"requestBody\":{\"content\":{\"*/*\":{\"schema\":{\"type\":\"object\",\"description\":\"Kafka\"}}}}}}}}";
+
+  private ClientAndServer mockServer;
+  private KubernetesClient client;
+  private OpenApiSchemaProvider provider;
+
+  @Before
+  public void before() {
+    this.mockServer = ClientAndServer.startClientAndServer(0);
+    this.client = new KubernetesClientBuilder()
+      .withConfig(new ConfigBuilder()
+        .withMasterUrl("http://localhost:" + mockServer.getPort())
+        .build())
+      .build();
+    this.provider = new OpenApiSchemaProvider(client);
+  }
+
+  @After
+  public void after() {
+    client.close();
+    mockServer.stop();
+  }
+
+  @Test
+  public void findSchema_should_load_openapi_v3_document_of_group_version() {
+    // given
+    respond("/openapi/v3", DISCOVERY);
+    respond(V3_DOCUMENT_PATH, DOCUMENT);
+    // when
+    ObjectNode schema = provider.findSchema(CRD);
+    // then
+    assertNotNull(schema);
+    assertEquals("Kafka", schema.path("description").asText());
+    mockServer.verify(HttpRequest.request().withPath("/openapi/v2"), VerificationTimes.never());
+  }
+
+  @Test
+  public void findSchema_should_load_document_once() {
+    // given
+    respond("/openapi/v3", DISCOVERY);
+    respond(V3_DOCUMENT_PATH, DOCUMENT);
+    provider.findSchema(CRD);
+    // when
+    ObjectNode schema = provider.findSchema(CRD);
+    // then
+    assertNotNull(schema);
+    mockServer.verify(HttpRequest.request().withPath(V3_DOCUMENT_PATH), VerificationTimes.once());
+  }
+
+  @Test
+  public void findSchema_should_load_document_again_if_it_failed() {
+    // given
+    respond("/openapi/v3", DISCOVERY);
+    mockServer.when(HttpRequest.request().withPath(V3_DOCUMENT_PATH), Times.once())
+      .respond(HttpResponse.response().withStatusCode(500));
+    respond(V3_DOCUMENT_PATH, DOCUMENT);
+    assertNull(provider.findSchema(CRD));
+    // when
+    ObjectNode schema = provider.findSchema(CRD);
+    // then
+    assertNotNull(schema);
+    mockServer.verify(HttpRequest.request().withPath(V3_DOCUMENT_PATH), VerificationTimes.exactly(2));
+  }
+
+  @Test
+  public void invalidate_should_load_discovery_and_document_again() {
+    // given
+    respond("/openapi/v3", DISCOVERY);
+    respond(V3_DOCUMENT_PATH, DOCUMENT);
+    provider.findSchema(CRD);
+    // when
+    provider.invalidate();
+    ObjectNode schema = provider.findSchema(CRD);
+    // then
+    assertNotNull(schema);
+    mockServer.verify(HttpRequest.request().withPath("/openapi/v3"), VerificationTimes.exactly(2));
+    mockServer.verify(HttpRequest.request().withPath(V3_DOCUMENT_PATH), VerificationTimes.exactly(2));
+  }
+
+  @Test
+  public void findSchema_should_fall_back_to_openapi_v2_if_v3_is_not_served() {
+    // given
+    mockServer.when(HttpRequest.request().withPath("/openapi/v3"))
+      .respond(HttpResponse.notFoundResponse());
+    respond("/openapi/v2", DOCUMENT);
+    // when
+    ObjectNode schema = provider.findSchema(CRD);
+    // then
+    assertNotNull(schema);
+    assertEquals("Kafka", schema.path("description").asText());
+  }
+
+  @Test
+  public void findSchema_should_return_null_if_crd_has_no_group_version() {
+    assertNull(provider.findSchema("kafkas"));
+  }
+
+  private void respond(String path, String body) {
+    mockServer.when(HttpRequest.request().withPath(path))
+      .respond(HttpResponse.response(body));
+  }
+}
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.jboss.tools.intellij.openshift.utils.odo;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Store;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.ClusterServiceVersion;
+import io.fabric8.openshift.api.model.operatorhub.v1alpha1.ClusterServiceVersionBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ServiceTemplateCatalogTest {
+
+  private final Map<String, List<ClusterServiceVersion>> serviceVersions = new HashMap<>();
+  private final Map<String, ResourceEventHandler<ClusterServiceVersion>> serviceVersionHandlers = new HashMap<>();
+  private final List<SharedIndexInformer<ClusterServiceVersion>> serviceVersionInformers = new ArrayList<>();
+  private final List<String> informedNamespaces = new ArrayList<>();
+  private final List<GenericKubernetesResource> bindableKinds = new CopyOnWriteArrayList<>();
+  private ResourceEventHandler<GenericKubernetesResource> bindableKindsHandler;
+  private volatile Runnable whileParsing = () -> {};
+  private final AtomicLong now = new AtomicLong();
+  private KubernetesClientException error;
+  private List<ServiceTemplatesDeserializer> deserializers;
+  private ServiceTemplateCatalog catalog;
+
+  @Before
+  public void before() {
+    this.deserializers = new ArrayList<>();
+    this.catalog = new ServiceTemplateCatalog(
+      (namespace, handler) -> {
+        this.bindableKindsHandler = handler;
+        return createInformer(bindableKinds);
+      },
+      (namespace, handler) -> {
+        informedNamespaces.add(namespace);
+        if (error != null) {
+          throw error;
+        }
+        serviceVersionHandlers.put(namespace, handler);
+        SharedIndexInformer<ClusterServiceVersion> informer = createInformer(serviceVersions.getOrDefault(namespace, List.of()));
+        serviceVersionInformers.add(informer);
+        return informer;
+      },
+      resources -> new ArrayList<>(resources),
+      kinds -> {
+        ServiceTemplatesDeserializer deserializer = mock(ServiceTemplatesDeserializer.class);
+        when(deserializer.fromPOJO(any())).thenAnswer(invocation -> {
+          whileParsing.run();
+          return createTemplate(invocation.<ClusterServiceVersion>getArgument(0).getMetadata().getName());
+        });
+        deserializers.add(deserializer);
+        return deserializer;
+      },
+      now::get);
+  }
+
+  @Test
+  public void getServiceTemplates_should_return_templates_in_given_namespace() {
+    // given
+    serviceVersions.put("ns1", List.of(
+      createServiceVersion("ns1", "strimzi-cluster-operator.v0.38.0", "1"),
+      // copied by OLM from the namespace of the operator
+      createServiceVersion("ns1", "postgresoperator.v5.4.0", "2")));
+    // when
+    List<ServiceTemplate> templates = catalog.getServiceTemplates("ns1");
+    // then
+    assertThat(informedNamespaces).containsExactly("ns1");
+    assertThat(getNames(templates)).containsExactly("postgresoperator.v5.4.0", "strimzi-cluster-operator.v0.38.0");
+  }
+
+  @Test
+  public void getServiceTemplates_should_watch_namespace_once() {
+    // given
+    catalog.getServiceTemplates("ns1");
+    // when
+    catalog.getServiceTemplates("ns1");
+    // then
+    assertThat(informedNamespaces).containsExactly("ns1");
+  }
+
+  @Test
+  public void getServiceTemplates_should_watch_new_namespace_and_stop_watching_previous_one() {
+    // given
+    serviceVersions.put("ns1", List.of(createServiceVersion("ns1", "strimzi-cluster-operator.v0.38.0", "1")));
+    serviceVersions.put("ns2", List.of(createServiceVersion("ns2", "postgresoperator.v5.4.0", "2")));
+    catalog.getServiceTemplates("ns1");
+    // when
+    List<ServiceTemplate> templates = catalog.getServiceTemplates("ns2");
+    // then
+    verify(serviceVersionInformers.get(0)).close();
+    assertThat(getNames(templates)).containsExactly("postgresoperator.v5.4.0");
+  }
+
+  @Test
+  public void getServiceTemplates_should_ignore_notifications_for_previous_namespace() {
+    // given
+    serviceVersions.put("ns2", List.of(createServiceVersion("ns2", "postgresoperator.v5.4.0", "2")));
+    catalog.getServiceTemplates("ns1");
+    catalog.getServiceTemplates("ns2");
+    // when
+    serviceVersionHandlers.get("ns1").onAdd(createServiceVersion("ns1", "strimzi-cluster-operator.v0.38.0", "3"));
+    // then
+    assertThat(getNames(catalog.getServiceTemplates("ns2"))).containsExactly("postgresoperator.v5.4.0");
+  }
+
+  @Test
+  public void getServiceTemplates_should_add_notified_service_version() {
+    // given
+    catalog.getServiceTemplates("ns1");
+    // when
+    serviceVersionHandlers.get("ns1").onAdd(createServiceVersion("ns1", "strimzi-cluster-operator.v0.38.0", "1"));
+    // then
+    assertThat(getNames(catalog.getServiceTemplates("ns1"))).containsExactly("strimzi-cluster-operator.v0.38.0");
+  }
+
+  @Test
+  public void getServiceTemplates_should_parse_templates_again_if_bindable_kinds_changed() {
+    // given
+    serviceVersions.put("ns1", List.of(createServiceVersion("ns1", "strimzi-cluster-operator.v0.38.0", "1")));
+    catalog.getServiceTemplates("ns1");
+    // when
+    bindableKinds.add(new GenericKubernetesResource());
+    bindableKindsHandler.onAdd(new GenericKubernetesResource());
+    // then
+    assertThat(deserializers).hasSize(2);
+    verify(deserializers.get(1)).fromPOJO(any());
+    assertThat(getNames(catalog.getServiceTemplates("ns1"))).containsExactly("strimzi-cluster-operator.v0.38.0");
+  }
+
+  @Test
+  public void getServiceTemplates_should_return_previous_templates_while_parsing_again() throws Exception {
+    // given
+    serviceVersions.put("ns1", List.of(createServiceVersion("ns1", "strimzi-cluster-operator.v0.38.0", "1")));
+    catalog.getServiceTemplates("ns1");
+    CountDownLatch parsing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    this.whileParsing = () -> {
+      parsing.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+    bindableKinds.add(new GenericKubernetesResource());
+    CompletableFuture<Void> changed = CompletableFuture.runAsync(() -> bindableKindsHandler.onAdd(new GenericKubernetesResource()));
+    parsing.await(10, TimeUnit.SECONDS);
+    // when
+    List<ServiceTemplate> templates = catalog.getServiceTemplates("ns1");
+    // then
+    release.countDown();
+    changed.get(10, TimeUnit.SECONDS);
+    assertThat(getNames(templates)).containsExactly("strimzi-cluster-operator.v0.38.0");
+  }
+
+  @Test
+  public void getServiceTemplates_should_not_retry_failed_namespace_before_backoff_expired() {
+    // given
+    this.error = new KubernetesClientException("forbidden");
+    getServiceTemplatesAndExpectFailure("ns1");
+    // when
+    now.set(ComponentIndex.INITIAL_BACKOFF - 1);
+    KubernetesClientException thrown = getServiceTemplatesAndExpectFailure("ns1");
+    // then
+    assertThat(informedNamespaces).containsExactly("ns1");
+    assertSame(error, thrown);
+  }
+
+  @Test
+  public void getServiceTemplates_should_retry_failed_namespace_after_backoff_expired() {
+    // given
+    serviceVersions.put("ns1", List.of(createServiceVersion("ns1", "strimzi-cluster-operator.v0.38.0", "1")));
+    this.error = new KubernetesClientException("forbidden");
+    getServiceTemplatesAndExpectFailure("ns1");
+    this.error = null;
+    // when
+    now.set(ComponentIndex.INITIAL_BACKOFF);
+    List<ServiceTemplate> templates = catalog.getServiceTemplates("ns1");
+    // then
+    assertThat(informedNamespaces).containsExactly("ns1", "ns1");
+    assertThat(getNames(templates)).containsExactly("strimzi-cluster-operator.v0.38.0");
+  }
+
+  @Test
+  public void getServiceTemplates_should_double_backoff_for_repeated_failures() {
+    // given
+    this.error = new KubernetesClientException("forbidden");
+    getServiceTemplatesAndExpectFailure("ns1");
+    now.set(ComponentIndex.INITIAL_BACKOFF);
+    getServiceTemplatesAndExpectFailure("ns1");
+    // when
+    now.set(ComponentIndex.INITIAL_BACKOFF * 2);
+    getServiceTemplatesAndExpectFailure("ns1");
+    // then
+    assertThat(informedNamespaces).containsExactly("ns1", "ns1");
+  }
+
+  private KubernetesClientException getServiceTemplatesAndExpectFailure(String namespace) {
+    try {
+      catalog.getServiceTemplates(namespace);
+      fail("KubernetesClientException expected");
+      return null;
+    } catch (KubernetesClientException e) {
+      return e;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends HasMetadata> SharedIndexInformer<T> createInformer(List<T> resources) {
+    Store<T> store = mock(Store.class);
+    when(store.list()).thenAnswer(invocation -> new ArrayList<>(resources));
+    SharedIndexInformer<T> informer = mock(SharedIndexInformer.class);
+    when(informer.getStore()).thenReturn(store);
+    return informer;
+  }
+
+  private static ClusterServiceVersion createServiceVersion(String namespace, String name, String resourceVersion) {
+    return new ClusterServiceVersionBuilder()
+      .withNewMetadata()
+      .withNamespace(namespace)
+      .withName(name)
+      .withResourceVersion(resourceVersion)
+      .endMetadata()
+      .withNewStatus()
+      .withPhase("Succeeded")
+      .endStatus()
+      .build();
+  }
+
+  private static ServiceTemplate createTemplate(String name) {
+    ServiceTemplate template = mock(ServiceTemplate.class);
+    when(template.getName()).thenReturn(name);
+    return template;
+  }
+
+  private static List<String> getNames(List<ServiceTemplate> templates) {
+    List<String> names = new ArrayList<>();
+    templates.forEach(template -> names.add(template.getName()));
+    return names;
+  }
+}